@@ -0,0 +1,33 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.businness.CatalogCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * This actuator endpoint shows the statistics of the catalog cache regions on GET /actuator/catalogcache
+ * and evicts all of them on DELETE /actuator/catalogcache,to be called after the catalog is changed in the DB.
+ * It is only served when catalogcache is added to management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "catalogcache")
+public class CatalogCacheEndpoint {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> regions() {
+        return catalogCache.getRegionStatistics();
+    }
+
+    @DeleteOperation
+    public void evict() {
+        catalogCache.evictAll();
+    }
+}
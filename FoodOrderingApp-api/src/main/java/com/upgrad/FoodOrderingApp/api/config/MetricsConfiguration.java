@@ -0,0 +1,40 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+/**
+ * This Configuration adds the metrics the actuator does not record by itself: the SQL statements per request and the Hibernate statistics.
+ * The controller timings are the http.server.requests timers of the actuator and the DAO timings the dao.calls timers of DaoMetricsAspect,
+ * all of them are served in Prometheus text format on /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${request-metrics.max-queries:20}")
+    private int maxQueries;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry, maxQueries));
+    }
+
+    //Entity loads,fetches,queries and cache hits of Hibernate,needs hibernate.generate_statistics.
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory, "entityManagerFactory", Collections.emptyList());
+    }
+}
@@ -0,0 +1,59 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.common.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * This interceptor records the number of SQL statements each request runs as the http.server.request.queries summary.
+ * A request that runs more than the configured maximum is logged and counted in http.server.request.queries.flagged,an N+1 in a controller shows up there.
+ */
+public class QueryCountInterceptor extends HandlerInterceptorAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxQueries;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry, int maxQueries) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = SqlStatementCounter.getCount();
+        //The path pattern of the controller method,so /restaurant/{restaurant_id} is one series and not one per restaurant.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("http.server.request.queries")
+                .description("SQL statements run by a request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(queries);
+        if (queries > maxQueries) {
+            Counter.builder("http.server.request.queries.flagged")
+                    .description("Requests that ran more SQL statements than request-metrics.max-queries")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            LOGGER.warn("{} {} ran {} SQL statements, more than the {} allowed", request.getMethod(), uri, queries, maxQueries);
+        }
+    }
+}
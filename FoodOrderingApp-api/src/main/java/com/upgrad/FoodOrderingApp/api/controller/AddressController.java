@@ -4,6 +4,7 @@ import com.upgrad.FoodOrderingApp.api.model.*;
 
 import com.upgrad.FoodOrderingApp.service.businness.AddressService;
 import com.upgrad.FoodOrderingApp.service.businness.CustomerService;
+import com.upgrad.FoodOrderingApp.service.businness.UuidGenerator;
 import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
@@ -19,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.UUID;
 
 @CrossOrigin
 @RestController
@@ -32,6 +32,9 @@ public class AddressController {
     @Autowired
     CustomerService customerService;
 
+    @Autowired
+    UuidGenerator uuidGenerator;
+
 
 
     @CrossOrigin
@@ -51,7 +54,7 @@ public class AddressController {
         addressEntity.setCity(saveAddressRequest.getCity());
         addressEntity.setLocality(saveAddressRequest.getLocality());
         addressEntity.setPincode(saveAddressRequest.getPincode());
-        addressEntity.setUuid(UUID.randomUUID().toString());
+        addressEntity.setUuid(uuidGenerator.generate());
 
 
         //Getting stateEntity using address service method getStateByUUID.
@@ -65,7 +68,7 @@ public class AddressController {
 
         //Creating SaveAddressResponse response
         SaveAddressResponse saveAddressResponse = new SaveAddressResponse()
-                .id(savedAddress.getUuid())
+                .id(savedAddress.getUuid().toString())
                 .status("ADDRESS SUCCESSFULLY REGISTERED");
         return new ResponseEntity<SaveAddressResponse>(saveAddressResponse,HttpStatus.CREATED);
     }
@@ -82,9 +85,9 @@ public class AddressController {
         addressEntities.forEach(addressEntity -> {
             AddressListState addressListState = new AddressListState()
                     .stateName(addressEntity.getState().getStateName())
-                    .id(UUID.fromString(addressEntity.getState().getStateUuid()));
+                    .id(addressEntity.getState().getStateUuid());
             AddressList addressList = new AddressList()
-                    .id(UUID.fromString(addressEntity.getUuid()))
+                    .id(addressEntity.getUuid())
                     .city(addressEntity.getCity())
                     .flatBuildingName(addressEntity.getFlatBuilNumber())
                     .locality(addressEntity.getLocality())
@@ -110,7 +113,7 @@ public class AddressController {
         AddressEntity deletedAddressEntity = addressService.deleteAddress(addressEntity);
 
         DeleteAddressResponse deleteAddressResponse = new DeleteAddressResponse()
-                .id(UUID.fromString(deletedAddressEntity.getUuid()))
+                .id(deletedAddressEntity.getUuid())
                 .status("ADDRESS DELETED SUCCESSFULLY");
 
         return new ResponseEntity<DeleteAddressResponse>(deleteAddressResponse,HttpStatus.OK);
@@ -126,7 +129,7 @@ public class AddressController {
             List<StatesList> statesLists = new LinkedList<>();
             stateEntities.forEach(stateEntity -> {
                 StatesList statesList = new StatesList()
-                        .id(UUID.fromString(stateEntity.getStateUuid()))
+                        .id(stateEntity.getStateUuid())
                         .stateName(stateEntity.getStateName());
                 statesLists.add(statesList);
             });
@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/category")
@@ -38,7 +37,7 @@ public class CategoryController {
             List<CategoryListResponse> categoryListResponses = new LinkedList<>();
             categoryEntities.forEach(categoryEntity -> {
                 CategoryListResponse categoryListResponse = new CategoryListResponse()
-                        .id(UUID.fromString(categoryEntity.getUuid()))
+                        .id(categoryEntity.getUuid())
                         .categoryName(categoryEntity.getCategoryName());
                 categoryListResponses.add(categoryListResponse);
             });
@@ -65,7 +64,7 @@ public class CategoryController {
         itemEntities.forEach(itemEntity -> { //Looping in for each itemEntity in itemEntities
             //Creating ItemList to add to listof Item List
             ItemList itemList = new ItemList()
-                    .id(UUID.fromString(itemEntity.getUuid()))
+                    .id(itemEntity.getUuid())
                     .price(itemEntity.getPrice())
                     .itemName(itemEntity.getItemName())
                     .itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
@@ -75,7 +74,7 @@ public class CategoryController {
         //Creating CategoryDetailsResponse by adding the itemList and other details.
         CategoryDetailsResponse categoryDetailsResponse = new CategoryDetailsResponse()
                 .categoryName(categoryEntity.getCategoryName())
-                .id(UUID.fromString(categoryEntity.getUuid()))
+                .id(categoryEntity.getUuid())
                 .itemList(itemLists);
         return new ResponseEntity<CategoryDetailsResponse>(categoryDetailsResponse,HttpStatus.OK);
     }
@@ -2,6 +2,7 @@ package com.upgrad.FoodOrderingApp.api.controller;
 
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.businness.CustomerService;
+import com.upgrad.FoodOrderingApp.service.businness.UuidGenerator;
 import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
@@ -19,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
 
 
 @RestController
@@ -32,6 +32,9 @@ public class CustomerController {
     @Autowired
     UtilityProvider utilityProvider;
 
+    @Autowired
+    UuidGenerator uuidGenerator;
+
 
 // Sign up functionality
 
@@ -44,12 +47,12 @@ public class CustomerController {
         customerEntity.setContactNumber(signupCustomerRequest.getContactNumber());
         customerEntity.setEmail(signupCustomerRequest.getEmailAddress());
         customerEntity.setPassword(signupCustomerRequest.getPassword());
-        customerEntity.setUuid(UUID.randomUUID().toString());
+        customerEntity.setUuid(uuidGenerator.generate());
 
         utilityProvider.isValidSignupRequest(customerEntity);
 
         CustomerEntity signedUpCustomer =  customerService.saveCustomer(customerEntity);
-        SignupCustomerResponse signupCustomerResponse = new SignupCustomerResponse().id(signedUpCustomer.getUuid()).status("CUSTOMER SUCCESSFULLY REGISTERED");
+        SignupCustomerResponse signupCustomerResponse = new SignupCustomerResponse().id(signedUpCustomer.getUuid().toString()).status("CUSTOMER SUCCESSFULLY REGISTERED");
 
         return new ResponseEntity<SignupCustomerResponse>(signupCustomerResponse,HttpStatus.CREATED);
     }
@@ -84,7 +87,7 @@ public class CustomerController {
         //Creating login response Containing variables as per the loginResponse.
 
         LoginResponse loginResponse = new LoginResponse()
-                .id(customerAuthEntity.getCustomer().getUuid())
+                .id(customerAuthEntity.getCustomer().getUuid().toString())
                 .contactNumber(customerAuthEntity.getCustomer().getContactNumber())
                 .emailAddress(customerAuthEntity.getCustomer().getEmail())
                 .firstName(customerAuthEntity.getCustomer().getFirstName())
@@ -107,7 +110,7 @@ public class CustomerController {
 
         //Creating Logout response for the request containing UUID and Successful message.
         LogoutResponse logoutResponse = new LogoutResponse()
-                .id(customerAuthEntity.getCustomer().getUuid())
+                .id(customerAuthEntity.getCustomer().getUuid().toString())
                 .message("LOGGED OUT SUCCESSFULLY");
 
         return new ResponseEntity<LogoutResponse>(logoutResponse,HttpStatus.OK);
@@ -137,7 +140,7 @@ public class CustomerController {
         UpdateCustomerResponse updateCustomerResponse = new UpdateCustomerResponse()
                 .firstName(updatedCustomerEntity.getFirstName())
                 .lastName(updatedCustomerEntity.getLastName())
-                .id(updatedCustomerEntity.getUuid())
+                .id(updatedCustomerEntity.getUuid().toString())
                 .status("CUSTOMER DETAILS UPDATED SUCCESSFULLY");
 
         return new ResponseEntity<UpdateCustomerResponse>(updateCustomerResponse,HttpStatus.OK);
@@ -168,7 +171,7 @@ public class CustomerController {
 
         //Creating the UpadtePasswordResponse with updated details.
         UpdatePasswordResponse updatePasswordResponse = new UpdatePasswordResponse()
-                .id(updatedCustomerEntity.getUuid())
+                .id(updatedCustomerEntity.getUuid().toString())
                 .status("CUSTOMER PASSWORD UPDATED SUCCESSFULLY");
 
         return new ResponseEntity<UpdatePasswordResponse>(updatePasswordResponse,HttpStatus.OK);
@@ -15,7 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/item")
@@ -45,7 +44,7 @@ public class ItemController {
         ItemListResponse itemListResponse = new ItemListResponse();
         itemEntities.forEach(itemEntity -> {
             ItemList itemList = new ItemList()
-                    .id(UUID.fromString(itemEntity.getUuid()))
+                    .id(itemEntity.getUuid())
                     .itemName(itemEntity.getItemName())
                     .price(itemEntity.getPrice())
                     .itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
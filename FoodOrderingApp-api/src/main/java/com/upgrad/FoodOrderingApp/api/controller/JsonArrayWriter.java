@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * JsonArrayWriter writes a JSON object with one array field to the response,one element at a time as it is produced,
+ * so a large list is never held in memory as a whole and the first elements reach the client while the rest are still read.
+ * Once the first bytes are sent the status can no longer change,an error after that ends the response without closing the array,
+ * so the client sees an invalid document rather than a complete looking list.
+ */
+class JsonArrayWriter {
+
+    private final JsonGenerator jsonGenerator;
+
+    JsonArrayWriter(ObjectMapper objectMapper, HttpServletResponse response, String arrayField) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        jsonGenerator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeArrayFieldStart(arrayField);
+    }
+
+    //Called from the service callbacks,which cannot throw IOException.
+    void write(Object element) {
+        try {
+            jsonGenerator.writeObject(element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //To end the array and the object once every element is written.
+    void finish() throws IOException {
+        jsonGenerator.writeEndArray();
+        jsonGenerator.writeEndObject();
+        jsonGenerator.flush();
+    }
+}
@@ -1,6 +1,7 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.businness.*;
 import com.upgrad.FoodOrderingApp.service.entity.*;
@@ -11,12 +12,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 
@@ -43,6 +47,12 @@ public class OrderController {
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @RequestMapping(method = RequestMethod.GET,path = "/coupon/{coupon_name}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<CouponDetailsResponse> getCouponByCouponName(@RequestHeader(value = "authorization") final String authorization, @PathVariable(value = "coupon_name")final String couponName) throws AuthorizationFailedException, CouponNotFoundException {
         String accessToken = authorization.split("Bearer ")[1];
@@ -50,7 +60,7 @@ public class OrderController {
         CouponEntity couponEntity = orderService.getCouponByCouponName(couponName);
         CouponDetailsResponse couponDetailsResponse = new CouponDetailsResponse()
                 .couponName(couponEntity.getCouponName())
-                .id(UUID.fromString(couponEntity.getUuid()))
+                .id(couponEntity.getUuid())
                 .percent(couponEntity.getPercent());
         return new ResponseEntity<CouponDetailsResponse>(couponDetailsResponse,HttpStatus.OK);
     }
@@ -77,10 +87,16 @@ public class OrderController {
         //Calls restaurantService restaurantByUUID method to get the RestaurantEntity by it uuid.
         RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(saveOrderRequest.getRestaurantId().toString());
 
+        //Calls itemService getItemsByUUIDs method to get all the ordered items with one query.
+        List<ItemQuantity> itemQuantities = saveOrderRequest.getItemQuantities();
+        List<UUID> itemUuids = new LinkedList<>();
+        itemQuantities.forEach(itemQuantity -> itemUuids.add(itemQuantity.getItemId()));
+        Map<UUID, ItemEntity> itemEntities = itemService.getItemsByUUIDs(itemUuids);
+
         //Creating new order entity from the details fetched earlier and request details received.
         Timestamp timestamp = new Timestamp(System.currentTimeMillis());
         OrdersEntity ordersEntity = new OrdersEntity();
-        ordersEntity.setUuid(UUID.randomUUID().toString());
+        ordersEntity.setUuid(uuidGenerator.generate());
         ordersEntity.setBill(saveOrderRequest.getBill().floatValue());
         ordersEntity.setDate(timestamp);
         ordersEntity.setCustomer(customerEntity);
@@ -90,35 +106,32 @@ public class OrderController {
         ordersEntity.setRestaurant(restaurantEntity);
         ordersEntity.setCoupon(couponEntity);
 
-        //Calls orderService saveOrder method to persist the order in database.
-        OrdersEntity savedOrderEntity = orderService.saveOrder(ordersEntity);
-
         //Setting items for the OrderItemEntity
-        List<ItemQuantity> itemQuantities = saveOrderRequest.getItemQuantities();
+        List<OrderItemEntity> orderItemEntities = new LinkedList<>();
         for(ItemQuantity itemQuantity : itemQuantities) {
 
             OrderItemEntity orderItemEntity = new OrderItemEntity();
 
-            ItemEntity itemEntity = itemService.getItemByUUID(itemQuantity.getItemId().toString());
-
-            orderItemEntity.setItem(itemEntity);
+            orderItemEntity.setItem(itemEntities.get(itemQuantity.getItemId()));
             orderItemEntity.setOrder(ordersEntity);
             orderItemEntity.setPrice(itemQuantity.getPrice());
             orderItemEntity.setQuantity(itemQuantity.getQuantity());
 
-            //calls orderService saveOrderItem to persist the orderItemEntity cretaed
-            OrderItemEntity savedOrderItem = orderService.saveOrderItem(orderItemEntity);
+            orderItemEntities.add(orderItemEntity);
         }
 
+        //Calls orderService placeOrder method to persist the order and all its order items in one transaction.
+        OrdersEntity savedOrderEntity = orderService.placeOrder(ordersEntity, orderItemEntities);
+
         //Creating the SaveOrderResponse for the endpoint containing UUID and success message.
         SaveOrderResponse saveOrderResponse = new SaveOrderResponse()
-                .id(savedOrderEntity.getUuid())
+                .id(savedOrderEntity.getUuid().toString())
                 .status("ORDER SUCCESSFULLY PLACED");
         return new ResponseEntity<SaveOrderResponse>(saveOrderResponse,HttpStatus.CREATED);
     }
     @CrossOrigin
     @RequestMapping(method = RequestMethod.GET,path = "",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<CustomerOrderResponse> getPastOrderOfUser(@RequestHeader(value = "authorization")final String authorization) throws AuthorizationFailedException {
+    public ResponseEntity<CustomerOrderResponse> getPastOrderOfUser(@RequestHeader(value = "authorization")final String authorization, @RequestParam(value = "page_size",required = false) final Integer pageSize, @RequestParam(value = "cursor",required = false) final String cursor) throws AuthorizationFailedException, InvalidCursorException {
 
         //Access the accessToken from the request Header
         String accessToken = authorization.split("Bearer ")[1];
@@ -126,82 +139,21 @@ public class OrderController {
         //Calls customerService getCustomerMethod to check the validity of the customer.this methods returns the customerEntity.
         CustomerEntity customerEntity = customerService.getCustomer(accessToken);
 
-        //Calls getOrdersByCustomers of orderService to get all the past orders of the customer.
-        List<OrdersEntity> ordersEntities =  orderService.getOrdersByCustomers(customerEntity.getUuid());
+        //Calls getOrderPageByCustomer of orderService to get a page of the past orders of the customer along with their order items.
+        List<OrdersEntity> ordersEntities =  orderService.getOrderPageByCustomer(customerEntity, cursor, pageSize);
 
         //Creating List of OrderList
         List<OrderList> orderLists = new LinkedList<>();
 
         if(ordersEntities != null){     //Checking if orderentities is null if yes them empty list is returned
             for(OrdersEntity ordersEntity:ordersEntities){      //looping in for every orderentity in orderentities
-                //Calls getOrderItemsByOrder by order of orderService get all the items ordered in past by orders.
-                List<OrderItemEntity> orderItemEntities = orderService.getOrderItemsByOrder(ordersEntity);
-
-                //Creating ItemQuantitiesResponse List
-                List<ItemQuantityResponse> itemQuantityResponseList = new LinkedList<>();
-                orderItemEntities.forEach(orderItemEntity -> {          //Looping for every item in the order to get details of the item ordered
-                    //Creating new ItemQuantityResponseItem
-                    ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem()
-                            .itemName(orderItemEntity.getItem().getItemName())
-                            .itemPrice(orderItemEntity.getItem().getPrice())
-                            .id(UUID.fromString(orderItemEntity.getItem().getUuid()))
-                            .type(ItemQuantityResponseItem.TypeEnum.valueOf(orderItemEntity.getItem().getType().getValue()));
-                    //Creating ItemQuantityResponse which will be added to the list
-                    ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse()
-                            .item(itemQuantityResponseItem)
-                            .quantity(orderItemEntity.getQuantity())
-                            .price(orderItemEntity.getPrice());
-                    itemQuantityResponseList.add(itemQuantityResponse);
-                });
-                //Creating OrderListAddressState to add in the address
-                OrderListAddressState orderListAddressState = new OrderListAddressState()
-                        .id(UUID.fromString(ordersEntity.getAddress().getState().getStateUuid()))
-                        .stateName(ordersEntity.getAddress().getState().getStateName());
-
-                //Creating OrderListAddress to add address to the orderList
-                OrderListAddress orderListAddress = new OrderListAddress()
-                        .id(UUID.fromString(ordersEntity.getAddress().getUuid()))
-                        .flatBuildingName(ordersEntity.getAddress().getFlatBuilNumber())
-                        .locality(ordersEntity.getAddress().getLocality())
-                        .city(ordersEntity.getAddress().getCity())
-                        .pincode(ordersEntity.getAddress().getPincode())
-                        .state(orderListAddressState);
-                //Creating OrderListCoupon to add Coupon to the orderList
-                OrderListCoupon orderListCoupon = new OrderListCoupon()
-                        .couponName(ordersEntity.getCoupon().getCouponName())
-                        .id(UUID.fromString(ordersEntity.getCoupon().getUuid()))
-                        .percent(ordersEntity.getCoupon().getPercent());
-
-                //Creating OrderListCustomer to add Customer to the orderList
-                OrderListCustomer orderListCustomer = new OrderListCustomer()
-                        .id(UUID.fromString(ordersEntity.getCustomer().getUuid()))
-                        .firstName(ordersEntity.getCustomer().getFirstName())
-                        .lastName(ordersEntity.getCustomer().getLastName())
-                        .emailAddress(ordersEntity.getCustomer().getEmail())
-                        .contactNumber(ordersEntity.getCustomer().getContactNumber());
-
-                //Creating OrderListPayment to add Payment to the orderList
-                OrderListPayment orderListPayment = new OrderListPayment()
-                        .id(UUID.fromString(ordersEntity.getPayment().getUuid()))
-                        .paymentName(ordersEntity.getPayment().getPaymentName());
-
-                //Craeting orderList to add all the above info and then add it orderLists to finally add it to CustomerOrderResponse
-                OrderList orderList = new OrderList()
-                        .id(UUID.fromString(ordersEntity.getUuid()))
-                        .itemQuantities(itemQuantityResponseList)
-                        .address(orderListAddress)
-                        .bill(BigDecimal.valueOf(ordersEntity.getBill()))
-                        .date(String.valueOf(ordersEntity.getDate()))
-                        .discount(BigDecimal.valueOf(ordersEntity.getDiscount()))
-                        .coupon(orderListCoupon)
-                        .customer(orderListCustomer)
-                        .payment(orderListPayment);
-                orderLists.add(orderList);
+                orderLists.add(getOrderList(ordersEntity));
             }
 
-            //Creating CustomerOrderResponse by adding OrderLists to it
+            //Creating CustomerOrderResponse by adding OrderLists and the cursor of the next page to it
             CustomerOrderResponse customerOrderResponse = new CustomerOrderResponse()
-                    .orders(orderLists);
+                    .orders(orderLists)
+                    .nextCursor(orderService.getNextOrderCursor(ordersEntities, pageSize));
             return new ResponseEntity<CustomerOrderResponse>(customerOrderResponse,HttpStatus.OK);
         }else {
             return new ResponseEntity<CustomerOrderResponse>(new CustomerOrderResponse(),HttpStatus.OK);//If no order created by customer empty array is returned.
@@ -210,4 +162,92 @@ public class OrderController {
 
     }
 
+    /* All the past orders of the customer,latest first,in the same shape as the order history without the cursor.The orders are written to the response
+    as they are read from the DB,so the memory used does not grow with the number of orders and the first ones are sent right away.
+     */
+    @CrossOrigin
+    @RequestMapping(method = RequestMethod.GET,path = "/export",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public void exportPastOrdersOfUser(@RequestHeader(value = "authorization")final String authorization, HttpServletResponse response) throws AuthorizationFailedException, IOException {
+
+        //Access the accessToken from the request Header
+        String accessToken = authorization.split("Bearer ")[1];
+
+        //Calls customerService getCustomerMethod to check the validity of the customer.this methods returns the customerEntity.
+        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+
+        JsonArrayWriter jsonArrayWriter = new JsonArrayWriter(objectMapper, response, "orders");
+        orderService.streamOrdersByCustomer(customerEntity, ordersEntity -> jsonArrayWriter.write(getOrderList(ordersEntity)));
+        jsonArrayWriter.finish();
+    }
+
+    //To build the OrderList of the order,whose order items are already loaded.
+    private OrderList getOrderList(OrdersEntity ordersEntity) {
+        //The order items of the order are loaded along with the page or the chunk.
+        List<OrderItemEntity> orderItemEntities = ordersEntity.getOrderItems();
+
+        //Creating ItemQuantitiesResponse List
+        List<ItemQuantityResponse> itemQuantityResponseList = new LinkedList<>();
+        orderItemEntities.forEach(orderItemEntity -> {          //Looping for every item in the order to get details of the item ordered
+            //Creating new ItemQuantityResponseItem
+            ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem()
+                    .itemName(orderItemEntity.getItem().getItemName())
+                    .itemPrice(orderItemEntity.getItem().getPrice())
+                    .id(orderItemEntity.getItem().getUuid())
+                    .type(ItemQuantityResponseItem.TypeEnum.valueOf(orderItemEntity.getItem().getType().getValue()));
+            //Creating ItemQuantityResponse which will be added to the list
+            ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse()
+                    .item(itemQuantityResponseItem)
+                    .quantity(orderItemEntity.getQuantity())
+                    .price(orderItemEntity.getPrice());
+            itemQuantityResponseList.add(itemQuantityResponse);
+        });
+        //Creating OrderListAddressState to add in the address
+        OrderListAddressState orderListAddressState = new OrderListAddressState()
+                .id(ordersEntity.getAddress().getState().getStateUuid())
+                .stateName(ordersEntity.getAddress().getState().getStateName());
+
+        //Creating OrderListAddress to add address to the orderList
+        OrderListAddress orderListAddress = new OrderListAddress()
+                .id(ordersEntity.getAddress().getUuid())
+                .flatBuildingName(ordersEntity.getAddress().getFlatBuilNumber())
+                .locality(ordersEntity.getAddress().getLocality())
+                .city(ordersEntity.getAddress().getCity())
+                .pincode(ordersEntity.getAddress().getPincode())
+                .state(orderListAddressState);
+        //Creating OrderListCoupon to add Coupon to the orderList,an order placed without a coupon has none.
+        OrderListCoupon orderListCoupon = null;
+        if (ordersEntity.getCoupon() != null) {
+            orderListCoupon = new OrderListCoupon()
+                    .couponName(ordersEntity.getCoupon().getCouponName())
+                    .id(ordersEntity.getCoupon().getUuid())
+                    .percent(ordersEntity.getCoupon().getPercent());
+        }
+
+        //Creating OrderListCustomer to add Customer to the orderList
+        OrderListCustomer orderListCustomer = new OrderListCustomer()
+                .id(ordersEntity.getCustomer().getUuid())
+                .firstName(ordersEntity.getCustomer().getFirstName())
+                .lastName(ordersEntity.getCustomer().getLastName())
+                .emailAddress(ordersEntity.getCustomer().getEmail())
+                .contactNumber(ordersEntity.getCustomer().getContactNumber());
+
+        //Creating OrderListPayment to add Payment to the orderList
+        OrderListPayment orderListPayment = new OrderListPayment()
+                .id(ordersEntity.getPayment().getUuid())
+                .paymentName(ordersEntity.getPayment().getPaymentName());
+
+        //Craeting orderList to add all the above info and then add it orderLists to finally add it to CustomerOrderResponse
+        OrderList orderList = new OrderList()
+                .id(ordersEntity.getUuid())
+                .itemQuantities(itemQuantityResponseList)
+                .address(orderListAddress)
+                .bill(BigDecimal.valueOf(ordersEntity.getBill()))
+                .date(String.valueOf(ordersEntity.getDate()))
+                .discount(BigDecimal.valueOf(ordersEntity.getDiscount()))
+                .coupon(orderListCoupon)
+                .customer(orderListCustomer)
+                .payment(orderListPayment);
+        return orderList;
+    }
+
 }
\ No newline at end of file
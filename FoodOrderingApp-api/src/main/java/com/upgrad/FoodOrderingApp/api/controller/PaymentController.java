@@ -14,7 +14,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/payment")
@@ -30,7 +29,7 @@ public class PaymentController {
         paymentEntities.forEach(paymentEntity -> {
             PaymentResponse paymentResponse = new PaymentResponse()
                     .paymentName(paymentEntity.getPaymentName())
-                    .id(UUID.fromString(paymentEntity.getUuid()));
+                    .id(paymentEntity.getUuid());
             paymentResponses.add(paymentResponse);
         });
         PaymentListResponse paymentListResponse = new PaymentListResponse()
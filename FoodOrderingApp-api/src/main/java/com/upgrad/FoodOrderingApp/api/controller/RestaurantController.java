@@ -1,27 +1,37 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.businness.*;
 
 import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidCursorException;
 import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -42,96 +52,42 @@ public class RestaurantController {
     @Autowired
     ItemService itemService;
 
-    @RequestMapping(method = RequestMethod.GET,path = "",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse>getAllRestaurants(){
+    @Autowired
+    AddressService addressService;
 
-        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantsByRating();
-        List<RestaurantList> restaurantLists = new LinkedList<>();
-        for (RestaurantEntity restaurantEntity : restaurantEntities) {
-            List<CategoryEntity> categoryEntities = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid());
-            String categories = new String();
-            ListIterator<CategoryEntity> listIterator = categoryEntities.listIterator();
-            while (listIterator.hasNext()){
-                categories =  categories + listIterator.next().getCategoryName() ;
-                if(listIterator.hasNext()){
-                    categories = categories + ", ";
-                }
-            }
+    @Autowired
+    RestaurantDetailsCache restaurantDetailsCache;
 
-            RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getState().getStateUuid()))
-                    .stateName(restaurantEntity.getAddress().getState().getStateName());
-
-            RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                    .city(restaurantEntity.getAddress().getCity())
-                    .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNumber())
-                    .locality(restaurantEntity.getAddress().getLocality())
-                    .pincode(restaurantEntity.getAddress().getPincode())
-                    .state(restaurantDetailsResponseAddressState);
-
-            RestaurantList restaurantList = new RestaurantList()
-                    .id(UUID.fromString(restaurantEntity.getUuid()))
-                    .restaurantName(restaurantEntity.getRestaurantName())
-                    .averagePrice(restaurantEntity.getAvgPrice())
-                    .categories(categories)
-                    .customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
-                    .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                    .photoURL(restaurantEntity.getPhotoUrl())
-                    .address(restaurantDetailsResponseAddress);
-
-            restaurantLists.add(restaurantList);
+    @Autowired
+    ObjectMapper objectMapper;
 
-        }
+    /* The restaurant lists are paged,page_size restaurants at a time in the order given by sort_by,rating by default.
+    The response has the next_cursor to pass as cursor with the same sort_by to get the next page.
+     */
+    @RequestMapping(method = RequestMethod.GET,path = "",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<RestaurantListResponse>getAllRestaurants(@RequestParam(value = "sort_by",required = false) final String sortBy, @RequestParam(value = "page_size",required = false) final Integer pageSize, @RequestParam(value = "cursor",required = false) final String cursor) throws InvalidCursorException {
+
+        //Calls restaurantListing which returns the page of restaurants with address, state and category names already loaded.
+        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantListing(sortBy, cursor, pageSize);
 
-        RestaurantListResponse restaurantListResponse = new RestaurantListResponse().restaurants(restaurantLists);
+        RestaurantListResponse restaurantListResponse = getRestaurantListResponse(restaurantEntities)
+                .nextCursor(restaurantService.getNextRestaurantCursor(restaurantEntities, sortBy, pageSize));
         return new ResponseEntity<RestaurantListResponse>(restaurantListResponse,HttpStatus.OK);
     }
 
 
     @RequestMapping(method = RequestMethod.GET,path = "/name/{restaurant_name}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> getRestaurantByName (@PathVariable(value = "restaurant_name") final String restaurantName)throws RestaurantNotFoundException {
+    public ResponseEntity<RestaurantListResponse> getRestaurantByName (@PathVariable(value = "restaurant_name") final String restaurantName, @RequestParam(value = "sort_by",required = false) final String sortBy, @RequestParam(value = "page_size",required = false) final Integer pageSize, @RequestParam(value = "cursor",required = false) final String cursor)throws RestaurantNotFoundException, InvalidCursorException {
 
 
-        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantsByName(restaurantName);
+        //Calls restaurantsByName which returns the best matches,or a page of them in the sort_by order,with address, state and category names already loaded.
+        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantsByName(restaurantName, sortBy, cursor, pageSize);
         if (!restaurantEntities.isEmpty()) {
-            List<RestaurantList> restaurantLists = new LinkedList<>();
-            for (RestaurantEntity restaurantEntity : restaurantEntities) {
-                List<CategoryEntity> categoryEntities = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid());
-                String categories = new String();
-                ListIterator<CategoryEntity> listIterator = categoryEntities.listIterator();
-                while (listIterator.hasNext()) {
-                    categories = categories + listIterator.next().getCategoryName();
-                    if (listIterator.hasNext()) {
-                        categories = categories + ", ";
-                    }
-                }
-
-                RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                        .id(UUID.fromString(restaurantEntity.getAddress().getState().getStateUuid()))
-                        .stateName(restaurantEntity.getAddress().getState().getStateName());
-                RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                        .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                        .city(restaurantEntity.getAddress().getCity())
-                        .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNumber())
-                        .locality(restaurantEntity.getAddress().getLocality())
-                        .pincode(restaurantEntity.getAddress().getPincode())
-                        .state(restaurantDetailsResponseAddressState);
-                RestaurantList restaurantList = new RestaurantList()
-                        .id(UUID.fromString(restaurantEntity.getUuid()))
-                        .restaurantName(restaurantEntity.getRestaurantName())
-                        .averagePrice(restaurantEntity.getAvgPrice())
-                        .categories(categories)
-                        .customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
-                        .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                        .photoURL(restaurantEntity.getPhotoUrl())
-                        .address(restaurantDetailsResponseAddress);
-
-                restaurantLists.add(restaurantList);
-
+            RestaurantListResponse restaurantListResponse = getRestaurantListResponse(restaurantEntities);
+            //The best matches are a single page.
+            if (sortBy != null) {
+                restaurantListResponse.nextCursor(restaurantService.getNextRestaurantCursor(restaurantEntities, sortBy, pageSize));
             }
-
-            RestaurantListResponse restaurantListResponse = new RestaurantListResponse().restaurants(restaurantLists);
             return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
         }else {
             return new ResponseEntity<RestaurantListResponse>(new RestaurantListResponse(),HttpStatus.OK);
@@ -140,54 +96,108 @@ public class RestaurantController {
     }
 
     @RequestMapping(method = RequestMethod.GET,path = "/category/{category_id}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> getRestaurantByCategoryId(@PathVariable(value = "category_id")String categoryId) throws CategoryNotFoundException {
+    public ResponseEntity<RestaurantListResponse> getRestaurantByCategoryId(@PathVariable(value = "category_id")String categoryId, @RequestParam(value = "sort_by",required = false) final String sortBy, @RequestParam(value = "page_size",required = false) final Integer pageSize, @RequestParam(value = "cursor",required = false) final String cursor) throws CategoryNotFoundException, InvalidCursorException {
+
+        //Calls restaurantByCategory which returns the page of restaurants with address, state and category names already loaded.
+        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantByCategory(categoryId, sortBy, cursor, pageSize);
 
-        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantByCategory(categoryId);
+        RestaurantListResponse restaurantListResponse = getRestaurantListResponse(restaurantEntities)
+                .nextCursor(restaurantService.getNextRestaurantCursor(restaurantEntities, sortBy, pageSize));
+        return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
+
+    }
+
+    /* The restaurants serving one of the customer's saved addresses,those with the same pincode or in the same locality of the city,
+    paged like the listing and best rated first by default.
+     */
+    @RequestMapping(method = RequestMethod.GET,path = "/address/{address_id}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<RestaurantListResponse> getRestaurantsByAddress(@RequestHeader("authorization") final String authorization, @PathVariable(value = "address_id") final String addressUuid, @RequestParam(value = "sort_by",required = false) final String sortBy, @RequestParam(value = "page_size",required = false) final Integer pageSize, @RequestParam(value = "cursor",required = false) final String cursor) throws AuthorizationFailedException, AddressNotFoundException, InvalidCursorException {
+        final String accessToken = authorization.split("Bearer ")[1];
+        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+
+        //Calls getAddressByUUID of addressService which checks the address belongs to the customer.
+        AddressEntity addressEntity = addressService.getAddressByUUID(addressUuid, customerEntity);
+
+        //Calls restaurantsByAddress which returns the page of restaurants with address, state and category names already loaded.
+        List<RestaurantEntity> restaurantEntities = restaurantService.restaurantsByAddress(addressEntity, sortBy, cursor, pageSize);
+
+        RestaurantListResponse restaurantListResponse = getRestaurantListResponse(restaurantEntities)
+                .nextCursor(restaurantService.getNextRestaurantCursor(restaurantEntities, sortBy, pageSize));
+        return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
+    }
+
+    /* All the restaurants,best rated first,in the same shape as the listing without the cursor.The restaurants are written to the response
+    as they are read from the DB,so the memory used does not grow with the number of restaurants and the first ones are sent right away.
+     */
+    @RequestMapping(method = RequestMethod.GET,path = "/export",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public void exportRestaurants(HttpServletResponse response) throws IOException {
+        JsonArrayWriter jsonArrayWriter = new JsonArrayWriter(objectMapper, response, "restaurants");
+        restaurantService.streamRestaurantListing(restaurantEntity -> jsonArrayWriter.write(getRestaurantList(restaurantEntity)));
+        jsonArrayWriter.finish();
+    }
+
+    //To build the list response of the restaurants,whose address,state and category names are already loaded.
+    private RestaurantListResponse getRestaurantListResponse(List<RestaurantEntity> restaurantEntities) {
         List<RestaurantList> restaurantLists = new LinkedList<>();
         for (RestaurantEntity restaurantEntity : restaurantEntities) {
-            List<CategoryEntity> categoryEntities = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid());
-            String categories = new String();
-            ListIterator<CategoryEntity> listIterator = categoryEntities.listIterator();
-            while (listIterator.hasNext()) {
-                categories = categories + listIterator.next().getCategoryName();
-                if (listIterator.hasNext()) {
-                    categories = categories + ", ";
-                }
-            }
+            restaurantLists.add(getRestaurantList(restaurantEntity));
+        }
+        return new RestaurantListResponse().restaurants(restaurantLists);
+    }
 
-            RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getState().getStateUuid()))
-                    .stateName(restaurantEntity.getAddress().getState().getStateName());
-            RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                    .city(restaurantEntity.getAddress().getCity())
-                    .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNumber())
-                    .locality(restaurantEntity.getAddress().getLocality())
-                    .pincode(restaurantEntity.getAddress().getPincode())
-                    .state(restaurantDetailsResponseAddressState);
-            RestaurantList restaurantList = new RestaurantList()
-                    .id(UUID.fromString(restaurantEntity.getUuid()))
-                    .restaurantName(restaurantEntity.getRestaurantName())
-                    .averagePrice(restaurantEntity.getAvgPrice())
-                    .categories(categories)
-                    .customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
-                    .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                    .photoURL(restaurantEntity.getPhotoUrl())
-                    .address(restaurantDetailsResponseAddress);
-
-            restaurantLists.add(restaurantList);
+    private RestaurantList getRestaurantList(RestaurantEntity restaurantEntity) {
+        String categories = String.join(", ", restaurantEntity.getCategoryNames());
 
-        }
+        RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
+                .id(restaurantEntity.getAddress().getState().getStateUuid())
+                .stateName(restaurantEntity.getAddress().getState().getStateName());
 
-        RestaurantListResponse restaurantListResponse = new RestaurantListResponse().restaurants(restaurantLists);
-        return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
+        RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
+                .id(restaurantEntity.getAddress().getUuid())
+                .city(restaurantEntity.getAddress().getCity())
+                .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNumber())
+                .locality(restaurantEntity.getAddress().getLocality())
+                .pincode(restaurantEntity.getAddress().getPincode())
+                .state(restaurantDetailsResponseAddressState);
+
+        RestaurantList restaurantList = new RestaurantList()
+                .id(restaurantEntity.getUuid())
+                .restaurantName(restaurantEntity.getRestaurantName())
+                .averagePrice(restaurantEntity.getAvgPrice())
+                .categories(categories)
+                .customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
+                .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
+                .photoURL(restaurantEntity.getPhotoUrl())
+                .address(restaurantDetailsResponseAddress);
 
+        return restaurantList;
     }
 
 
+    /* The serialized RestaurantDetailsResponse is kept in restaurantDetailsCache until the rating or the catalog of the restaurant changes,
+    so a cached restaurant is served without reading the DB or serializing it again.The response carries the strong ETag of its bytes,
+    Spring answers a request whose If-None-Match matches it with 304 and no body.no-cache lets clients and CDNs store the response but ask with the ETag every time.
+     */
     @CrossOrigin
     @RequestMapping(method = RequestMethod.GET,path = "/{restaurant_id}",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantDetailsResponse>getRestaurantByRestaurantId(@PathVariable(value = "restaurant_id") final String restaurantUuid)throws RestaurantNotFoundException{
+    public ResponseEntity<byte[]>getRestaurantByRestaurantId(@PathVariable(value = "restaurant_id") final String restaurantUuid)throws RestaurantNotFoundException, JsonProcessingException {
+
+        UUID restaurantId = UuidParser.parse(restaurantUuid);
+        RestaurantDetailsCache.CachedResponse cachedResponse = restaurantDetailsCache.getResponse(restaurantId);
+        if (cachedResponse == null) {
+            long invalidationCount = restaurantDetailsCache.getInvalidationCount();
+            byte[] body = objectMapper.writeValueAsBytes(getRestaurantDetails(restaurantUuid));
+            cachedResponse = restaurantDetailsCache.putResponse(restaurantId, body, invalidationCount);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(cachedResponse.getETag())
+                .cacheControl(CacheControl.noCache())
+                .body(cachedResponse.getBody());
+    }
+
+    //To build the restaurant details with the categories and their items.
+    private RestaurantDetailsResponse getRestaurantDetails(String restaurantUuid) throws RestaurantNotFoundException {
 
         //Calls restaurantByUUID method of restaurantService to get the restaurant entity.
         RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(restaurantUuid);
@@ -195,17 +205,20 @@ public class RestaurantController {
         //Calls  getCategoriesByRestaurant to get categories of the corresponding restaurant.
         List<CategoryEntity> categoryEntities = categoryService.getCategoriesByRestaurant(restaurantUuid);
 
+        //Calls getItemsByCategoryForRestaurant of itemService to get the items of the restaurant grouped by category uuid.
+        Map<UUID, List<ItemEntity>> itemsByCategory = itemService.getItemsByCategoryForRestaurant(restaurantEntity);
+
         //Creating category Lists  for the response
         List<CategoryList> categoryLists = new LinkedList<>();
         for (CategoryEntity categoryEntity:categoryEntities){  //Looping for each CategoryEntity in categoryEntities
 
-            //Calls getItemsByCategoryAndRestaurant of itemService to get list of itemEntities.
-            List<ItemEntity> itemEntities = itemService.getItemsByCategoryAndRestaurant(restaurantUuid ,categoryEntity.getUuid());
+            //Getting the items of this category from the grouped menu.
+            List<ItemEntity> itemEntities = itemsByCategory.getOrDefault(categoryEntity.getUuid(), Collections.emptyList());
             //Creating Item List for the CategoryList.
             List<ItemList> itemLists = new LinkedList<>();
             itemEntities.forEach(itemEntity -> {
                 ItemList itemList = new ItemList()
-                        .id(UUID.fromString(itemEntity.getUuid()))
+                        .id(itemEntity.getUuid())
                         .itemName(itemEntity.getItemName())
                         .price(itemEntity.getPrice())
                         .itemType(ItemList.ItemTypeEnum.valueOf(itemEntity.getType().getValue()));
@@ -216,7 +229,7 @@ public class RestaurantController {
             //Creating new category list to add listof category list
             CategoryList categoryList = new CategoryList()
                     .itemList(itemLists)
-                    .id(UUID.fromString(categoryEntity.getUuid()))
+                    .id(categoryEntity.getUuid())
                     .categoryName(categoryEntity.getCategoryName());
 
             //adding to the categoryLists
@@ -225,12 +238,12 @@ public class RestaurantController {
 
         //Creating the RestaurantDetailsResponseAddressState for the RestaurantDetailsResponseAddress
         RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                .id(UUID.fromString(restaurantEntity.getAddress().getState().getStateUuid()))
+                .id(restaurantEntity.getAddress().getState().getStateUuid())
                 .stateName(restaurantEntity.getAddress().getState().getStateName());
 
         //Creating the RestaurantDetailsResponseAddress for the RestaurantList
         RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
+                .id(restaurantEntity.getAddress().getUuid())
                 .city(restaurantEntity.getAddress().getCity())
                 .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNumber())
                 .locality(restaurantEntity.getAddress().getLocality())
@@ -244,11 +257,11 @@ public class RestaurantController {
                 .averagePrice(restaurantEntity.getAvgPrice())
                 .customerRating(BigDecimal.valueOf(restaurantEntity.getCustomerRating()))
                 .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                .id(UUID.fromString(restaurantEntity.getUuid()))
+                .id(restaurantEntity.getUuid())
                 .photoURL(restaurantEntity.getPhotoUrl())
                 .categories(categoryLists);
 
-        return new ResponseEntity<RestaurantDetailsResponse>(restaurantDetailsResponse,HttpStatus.OK);
+        return restaurantDetailsResponse;
     }
 
     @RequestMapping(method = RequestMethod.PUT,path = "/{restaurant_id}",params = "customer_rating",produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -2,7 +2,10 @@ package com.upgrad.FoodOrderingApp.api.exception;
 
 
 import com.upgrad.FoodOrderingApp.api.model.ErrorResponse;
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
 import com.upgrad.FoodOrderingApp.service.exception.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -110,4 +113,27 @@ public class RestExceptionHandler {
                 HttpStatus.NOT_FOUND);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> invalidCursorException(InvalidCursorException exc ,WebRequest request) {
+        return new ResponseEntity<ErrorResponse>(new ErrorResponse()
+                .code(exc.getCode())
+                .message(exc.getErrorMessage()),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    //GEN-002 is returned when the password hashing pool is full,the client may retry after a second.
+    @ExceptionHandler(UnexpectedException.class)
+    public ResponseEntity<ErrorResponse> unexpectedException(UnexpectedException exc, WebRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        if (exc.getErrorCode() == GenericErrorCode.GEN_002) {
+            headers.add(HttpHeaders.RETRY_AFTER, "1");
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return new ResponseEntity<ErrorResponse>(new ErrorResponse()
+                .code(exc.getErrorCode().getCode())
+                .message(exc.getMessage()),
+                headers, status);
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.upgrad.FoodOrderingApp.api;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedNativeQueries;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+
+// This class checks that the plan of every named query of the service entities uses an index,so a query added without one fails the build.
+// The SQL is the one Hibernate makes from the @NamedQuery and @NamedNativeQuery annotations,so it can not drift from the entities.
+// Each query is prepared with its parameters and the generic plan is explained,the plan does not depend on sample values.
+// Sequential scans are switched off so the planner takes an index whenever there is one,even if a small seeded table is faster to scan.
+// Run it after setup or migrate of the db module,so the tables and indexes exist.
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class NamedQueryPlanTest {
+
+    //Named queries which read the whole table by design and are not checked.
+    private static final Set<String> FULL_READS = new HashSet<>(Arrays.asList(
+            "getAllStates", "getAllPaymentMethods", "getRestaurantLocations"));
+
+    private static final String STATEMENT_NAME = "named_query_plan";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    //This test case passes when no named query outside the full reads is planned with a sequential scan.
+    @Test
+    public void shouldPlanEveryNamedQueryWithAnIndex() throws Exception {
+        final Map<String, String> namedQueries = getNamedQuerySql();
+        final Set<String> missingFullReads = missingFullReads(namedQueries);
+        assertTrue("Full reads which are not named queries: " + missingFullReads, missingFullReads.isEmpty());
+
+        final List<String> failures = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                for (Map.Entry<String, String> namedQuery : namedQueries.entrySet()) {
+                    if (!FULL_READS.contains(namedQuery.getKey())) {
+                        final String seqScan = explainSeqScan(statement, namedQuery.getValue());
+                        if (seqScan != null) {
+                            failures.add(namedQuery.getKey() + " is planned with a sequential scan: " + seqScan);
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+        assertTrue(String.join("\n", failures), failures.isEmpty());
+    }
+
+    //To get the SQL of each named query by its name,HQL is translated by Hibernate and native SQL is taken as it is.
+    private Map<String, String> getNamedQuerySql() {
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        final Map<String, String> namedQueries = new TreeMap<>();
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            final Class<?> entityClass = entityType.getJavaType();
+            final List<NamedQuery> hqlQueries = new ArrayList<>();
+            if (entityClass.isAnnotationPresent(NamedQueries.class)) {
+                hqlQueries.addAll(Arrays.asList(entityClass.getAnnotation(NamedQueries.class).value()));
+            }
+            if (entityClass.isAnnotationPresent(NamedQuery.class)) {
+                hqlQueries.add(entityClass.getAnnotation(NamedQuery.class));
+            }
+            for (NamedQuery hqlQuery : hqlQueries) {
+                final String[] sqlStrings = sessionFactory.getQueryPlanCache()
+                        .getHQLQueryPlan(hqlQuery.query(), false, Collections.emptyMap()).getSqlStrings();
+                namedQueries.put(hqlQuery.name(), String.join(";", sqlStrings));
+            }
+            final List<NamedNativeQuery> nativeQueries = new ArrayList<>();
+            if (entityClass.isAnnotationPresent(NamedNativeQueries.class)) {
+                nativeQueries.addAll(Arrays.asList(entityClass.getAnnotation(NamedNativeQueries.class).value()));
+            }
+            if (entityClass.isAnnotationPresent(NamedNativeQuery.class)) {
+                nativeQueries.add(entityClass.getAnnotation(NamedNativeQuery.class));
+            }
+            for (NamedNativeQuery nativeQuery : nativeQueries) {
+                namedQueries.put(nativeQuery.name(), nativeQuery.query());
+            }
+        }
+        return namedQueries;
+    }
+
+    private static Set<String> missingFullReads(final Map<String, String> namedQueries) {
+        final Set<String> missing = new HashSet<>(FULL_READS);
+        missing.removeAll(namedQueries.keySet());
+        return missing;
+    }
+
+    //Returns the first plan line with a sequential scan,or null if there is none.
+    private static String explainSeqScan(final Statement statement, final String sql) throws SQLException {
+        final List<String> arguments = new ArrayList<>();
+        statement.execute("PREPARE " + STATEMENT_NAME + " AS " + numberParameters(sql, arguments));
+        try {
+            final String execute = arguments.isEmpty() ? STATEMENT_NAME : STATEMENT_NAME + "(" + String.join(", ", arguments) + ")";
+            try (ResultSet plan = statement.executeQuery("EXPLAIN EXECUTE " + execute)) {
+                while (plan.next()) {
+                    if (plan.getString(1).contains("Seq Scan")) {
+                        return plan.getString(1).trim();
+                    }
+                }
+            }
+            return null;
+        } finally {
+            statement.execute("DEALLOCATE " + STATEMENT_NAME);
+        }
+    }
+
+    //To replace the ? and :name parameters outside of string literals with $1,$2... as PREPARE takes them,
+    //adding a NULL argument for each one to arguments.
+    private static String numberParameters(final String sql, final List<String> arguments) {
+        final StringBuilder numbered = new StringBuilder();
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+                numbered.append(c);
+            } else if (!inLiteral && c == '?') {
+                arguments.add("NULL");
+                numbered.append('$').append(arguments.size());
+            } else if (!inLiteral && c == ':' && i + 1 < sql.length() && Character.isJavaIdentifierStart(sql.charAt(i + 1))
+                    && (i == 0 || sql.charAt(i - 1) != ':')) {
+                int end = i + 1;
+                while (end < sql.length() && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                arguments.add("NULL");
+                numbered.append('$').append(arguments.size());
+                i = end - 1;
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
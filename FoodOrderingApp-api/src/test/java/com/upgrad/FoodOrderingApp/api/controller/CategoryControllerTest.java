@@ -48,11 +48,11 @@ public class CategoryControllerTest {
         itemEntity.setPrice(200);
         itemEntity.setType(NON_VEG);
         final String itemId = UUID.randomUUID().toString();
-        itemEntity.setUuid(itemId);
+        itemEntity.setUuid(UUID.fromString(itemId));
 
         final CategoryEntity categoryEntity = new CategoryEntity();
         final String categoryEntityId = UUID.randomUUID().toString();
-        categoryEntity.setUuid(categoryEntityId);
+        categoryEntity.setUuid(UUID.fromString(categoryEntityId));
         categoryEntity.setItems(Collections.singletonList(itemEntity));
 
 
@@ -106,7 +106,7 @@ public class CategoryControllerTest {
     public void shouldGetAllCategoryOrderedByName() throws Exception {
         final CategoryEntity categoryEntity = new CategoryEntity();
         final String categoryEntityId = UUID.randomUUID().toString();
-        categoryEntity.setUuid(categoryEntityId);
+        categoryEntity.setUuid(UUID.fromString(categoryEntityId));
         categoryEntity.setCategoryName("sampleCategoryName");
 
         when(mockCategoryService.getAllCategoriesOrderedByName()).thenReturn(Collections.singletonList(categoryEntity));
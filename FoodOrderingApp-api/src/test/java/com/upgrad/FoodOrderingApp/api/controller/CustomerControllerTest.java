@@ -71,7 +71,7 @@ public class CustomerControllerTest {
     public void shouldSignUpForValidRequest() throws Exception {
         final CustomerEntity createdCustomerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        createdCustomerEntity.setUuid(customerId);
+        createdCustomerEntity.setUuid(UUID.fromString(customerId));
         when(mockCustomerService.saveCustomer(any())).thenReturn(createdCustomerEntity);
 
         mockMvc
@@ -80,7 +80,8 @@ public class CustomerControllerTest {
                         .content("{\"first_name\":\"first\", \"last_name\":\"last\", \"email_address\":\"abc@email.com\", \"contact_number\":\"9090909090\", \"password\":\"qawsedrf@123\"}"))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("id").value(customerId));
-        verify(mockCustomerService, times(1)).saveCustomer(any());
+        //The new customer gets a time-ordered uuid.
+        verify(mockCustomerService, times(1)).saveCustomer(argThat(customerEntity -> customerEntity.getUuid().version() == 7));
     }
 
     //This test case passes when you have handled the exception of trying to signup but the request field is empty.
@@ -165,7 +166,7 @@ public class CustomerControllerTest {
         createdCustomerAuthEntity.setAccessToken("accessToken");
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
         createdCustomerAuthEntity.setCustomer(customerEntity);
 
         when(mockCustomerService.authenticate("9090909090", "CorrectPassword"))
@@ -230,7 +231,7 @@ public class CustomerControllerTest {
         final CustomerAuthEntity createdCustomerAuthEntity = new CustomerAuthEntity();
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
         createdCustomerAuthEntity.setCustomer(customerEntity);
         when(mockCustomerService.logout("access-token")).thenReturn(createdCustomerAuthEntity);
 
@@ -296,14 +297,14 @@ public class CustomerControllerTest {
         final CustomerEntity customerEntity = new CustomerEntity();
         customerEntity.setFirstName("firstname");
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
 
         when(mockCustomerService.getCustomer("auth")).thenReturn(customerEntity);
 
         final CustomerEntity updatedCustomerEntity = new CustomerEntity();
         updatedCustomerEntity.setFirstName("first");
         updatedCustomerEntity.setLastName("last");
-        updatedCustomerEntity.setUuid(customerId);
+        updatedCustomerEntity.setUuid(UUID.fromString(customerId));
         when(mockCustomerService.updateCustomer(customerEntity)).thenReturn(updatedCustomerEntity);
         mockMvc
                 .perform(put("/customer")
@@ -392,7 +393,7 @@ public class CustomerControllerTest {
     public void shouldUpdateCustomerPassword() throws Exception {
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
 
         when(mockCustomerService.getCustomer("auth")).thenReturn(customerEntity);
         when(mockCustomerService.updateCustomerPassword("oldPwd", "newPwd", customerEntity))
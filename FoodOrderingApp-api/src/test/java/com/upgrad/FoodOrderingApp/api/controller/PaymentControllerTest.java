@@ -39,7 +39,7 @@ public class PaymentControllerTest {
     public void shouldGetAllPaymentMethods() throws Exception {
         final PaymentEntity paymentEntity = new PaymentEntity();
         final String paymentId = UUID.randomUUID().toString();
-        paymentEntity.setUuid(paymentId);
+        paymentEntity.setUuid(UUID.fromString(paymentId));
         paymentEntity.setPaymentName("samplePaymentName");
 
         when(mockPaymentService.getAllPaymentMethods())
@@ -0,0 +1,28 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.api.controller.RestaurantController;
+import com.upgrad.FoodOrderingApp.service.ServiceConfiguration;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+
+//The services and RestaurantController on the in-memory database of application-benchmark.yaml,without the web server.
+
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@Import({ServiceConfiguration.class, RestaurantController.class})
+public class BenchmarkContext {
+
+    //Starts the context and loads insert.sql copied scale times,see BenchmarkData.
+    public static ConfigurableApplicationContext start(int scale) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkContext.class)
+                .profiles("benchmark")
+                .run();
+        BenchmarkData.load(context.getBean(DataSource.class), scale);
+        return context;
+    }
+}
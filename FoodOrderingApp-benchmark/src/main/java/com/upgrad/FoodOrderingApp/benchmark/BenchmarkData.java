@@ -0,0 +1,98 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+
+/* This Class seeds the in-memory database with insert.sql of the db module and scales it up.
+Every restaurant and item of insert.sql is copied scale - 1 times with the same menu,categories and address,
+the copies get new uuids,a spread of ratings and an order count for each of their items so that getItemsByPopularity has counts to rank.
+The SQL is H2 only,SYSTEM_RANGE gives the copy numbers.
+ */
+public class BenchmarkData {
+
+    private static final String INSERT_SQL = "sql/insert.sql";
+
+    //Tables whose entity ids come from hibernate_sequence,the created columns have no default for the inserts of insert.sql.
+    private static final String[] SEQUENCE_ID_TABLES = {"category_item", "coupon", "restaurant_item"};
+
+    private BenchmarkData() {
+    }
+
+    public static void load(DataSource dataSource, int scale) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String table : SEQUENCE_ID_TABLES) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT NEXT VALUE FOR hibernate_sequence");
+        }
+        //Without the sizes of the validator the column is created with 255 characters,an access token is longer as in tables.sql.
+        jdbcTemplate.execute("ALTER TABLE customer_auth ALTER COLUMN access_token VARCHAR(500)");
+        //The name search ranks by the similarity of pg_trgm,H2 calls the method below instead.
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS similarity FOR \"" + BenchmarkData.class.getName() + ".similarity\"");
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(new ClassPathResource(INSERT_SQL), StandardCharsets.UTF_8));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        int copies = scale - 1;
+        int itemOffset = jdbcTemplate.queryForObject("SELECT MAX(id) FROM item", Integer.class);
+        int restaurantOffset = jdbcTemplate.queryForObject("SELECT MAX(id) FROM restaurant", Integer.class);
+
+        if (copies > 0) {
+            //The copy x of an item or restaurant gets the id of the original plus x times the offset,so the mappings can be copied by arithmetic.
+            jdbcTemplate.update("INSERT INTO item(id, uuid, item_name, price, type) " +
+                    "SELECT i.id + c.x * ?, RANDOM_UUID(), i.item_name, i.price, i.type FROM item i, SYSTEM_RANGE(1, ?) c WHERE i.id <= ?",
+                    itemOffset, copies, itemOffset);
+            jdbcTemplate.update("INSERT INTO restaurant(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id) " +
+                    "SELECT r.id + c.x * ?, RANDOM_UUID(), CONCAT(r.restaurant_name, ' ', c.x), r.photo_url, 1 + MOD(r.id * 37 + c.x * 11, 41) / 10.0, " +
+                    "r.average_price_for_two, r.number_of_customers_rated + c.x, r.address_id FROM restaurant r, SYSTEM_RANGE(1, ?) c WHERE r.id <= ?",
+                    restaurantOffset, copies, restaurantOffset);
+            jdbcTemplate.update("INSERT INTO restaurant_item(item_id, restaurant_id) " +
+                    "SELECT ri.item_id + c.x * ?, ri.restaurant_id + c.x * ? FROM restaurant_item ri, SYSTEM_RANGE(1, ?) c WHERE ri.restaurant_id <= ?",
+                    itemOffset, restaurantOffset, copies, restaurantOffset);
+            jdbcTemplate.update("INSERT INTO category_item(item_id, category_id) " +
+                    "SELECT ci.item_id + c.x * ?, ci.category_id FROM category_item ci, SYSTEM_RANGE(1, ?) c WHERE ci.item_id <= ?",
+                    itemOffset, copies, itemOffset);
+            jdbcTemplate.update("INSERT INTO restaurant_category(restaurant_id, category_id) " +
+                    "SELECT rc.restaurant_id + c.x * ?, rc.category_id FROM restaurant_category rc, SYSTEM_RANGE(1, ?) c WHERE rc.restaurant_id <= ?",
+                    restaurantOffset, copies, restaurantOffset);
+            jdbcTemplate.execute("ALTER TABLE item ALTER COLUMN id RESTART WITH " + (itemOffset * scale + 1));
+            jdbcTemplate.execute("ALTER TABLE restaurant ALTER COLUMN id RESTART WITH " + (restaurantOffset * scale + 1));
+        }
+
+        //insert.sql has no orders,every restaurant item gets a count between 0 and 996.
+        jdbcTemplate.update("INSERT INTO restaurant_item_count(restaurant_id, item_id, order_count) " +
+                "SELECT ri.restaurant_id, ri.item_id, MOD(ri.item_id * 7919 + ri.restaurant_id * 31, 997) FROM restaurant_item ri");
+    }
+
+    //The share of the trigrams of the two strings that they have in common,as pg_trgm counts them for a single word.
+    public static double similarity(String left, String right) {
+        if (left == null || right == null) {
+            return 0;
+        }
+        Set<String> leftTrigrams = trigrams(left);
+        Set<String> rightTrigrams = trigrams(right);
+        int total = leftTrigrams.size() + rightTrigrams.size();
+        leftTrigrams.retainAll(rightTrigrams);
+        return total == 0 ? 0 : (double) leftTrigrams.size() / (total - leftTrigrams.size());
+    }
+
+    private static Set<String> trigrams(String value) {
+        String padded = "  " + value.toLowerCase() + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,71 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.service.businness.PasswordCryptographyProvider;
+import com.upgrad.FoodOrderingApp.service.businness.PasswordHashScheme;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//Latency of the password check of a login at each cost,with one caller per core sharing a pool of one thread per core as in the app.
+//Read the p0.99 line of each iterations value and pick the highest cost that stays within the login budget on the hardware it runs on.
+//Run with -p iterations=... for other costs and -t <n> for more callers than cores.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class LoginLatencyBenchmark {
+
+    @Param({"1000", "10000", "50000", "100000"})
+    private int iterations;
+
+    @Param({"512"})
+    private int keyLength;
+
+    private PasswordCryptographyProvider passwordCryptographyProvider;
+
+    private String password = "Secret#Pass1";
+
+    private String[] current;
+
+    private String currentScheme;
+
+    private String[] legacy;
+
+    private String legacyScheme = PasswordHashScheme.LEGACY.toString();
+
+    @Setup
+    public void setUp() {
+        PasswordHashScheme scheme = PasswordHashScheme.LEGACY;
+        PasswordCryptographyProvider legacyProvider = new PasswordCryptographyProvider(scheme.getAlgorithm(), scheme.getIterations(), scheme.getKeyLength(), 1, 1);
+        legacy = legacyProvider.encrypt(password);
+        legacyProvider.shutdown();
+
+        passwordCryptographyProvider = new PasswordCryptographyProvider("PBKDF2WithHmacSHA512", iterations, keyLength, 0, 1024);
+        current = passwordCryptographyProvider.encrypt(password);
+        currentScheme = passwordCryptographyProvider.getPasswordHashScheme().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordCryptographyProvider.shutdown();
+    }
+
+    //A login of a customer whose hash already has the current scheme.
+    @Benchmark
+    public boolean login() {
+        return passwordCryptographyProvider.matches(password, current[0], current[1], currentScheme);
+    }
+
+    //The first login of a customer with a legacy hash,checked with the old scheme and hashed again with the current one.
+    @Benchmark
+    public String[] loginWithRehash() {
+        if (!passwordCryptographyProvider.matches(password, legacy[0], legacy[1], legacyScheme)) {
+            throw new IllegalStateException("Legacy hash does not match");
+        }
+        return passwordCryptographyProvider.encrypt(password);
+    }
+}
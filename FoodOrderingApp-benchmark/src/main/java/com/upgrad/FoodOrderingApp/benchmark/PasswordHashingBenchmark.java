@@ -0,0 +1,86 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.service.businness.PasswordCryptographyProvider;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+//Hashes per second of one core,the provider gets a single hashing thread and JMH a single caller.
+//Run with -t <n> and -p threads=<n> to see how the pool scales,and -p iterations=... to price a higher cost.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int iterations;
+
+    @Param({"1"})
+    private int threads;
+
+    private PasswordCryptographyProvider passwordCryptographyProvider;
+
+    private String password = "Secret#Pass1";
+
+    private String salt;
+
+    private String hashedPassword;
+
+    private String scheme;
+
+    @Setup
+    public void setUp() {
+        passwordCryptographyProvider = new PasswordCryptographyProvider("PBKDF2WithHmacSHA512", iterations, 64, threads, 1024);
+        String[] encryptedPassword = passwordCryptographyProvider.encrypt(password);
+        salt = encryptedPassword[0];
+        hashedPassword = encryptedPassword[1];
+        scheme = passwordCryptographyProvider.getPasswordHashScheme().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordCryptographyProvider.shutdown();
+    }
+
+    //A login,hashing the given password with the stored salt.
+    @Benchmark
+    public boolean verify() {
+        return passwordCryptographyProvider.matches(password, salt, hashedPassword, scheme);
+    }
+
+    //A signup or password change,a new salt and hash.
+    @Benchmark
+    public String[] create() {
+        return passwordCryptographyProvider.encrypt(password);
+    }
+
+    //The hashing as it was done before,on the calling thread with a new factory and SecureRandom each time.
+    @Benchmark
+    public byte[] createLegacy() throws Exception {
+        byte[] saltBytes = new byte[32];
+        new SecureRandom().nextBytes(saltBytes);
+        return LegacyHashing.hashPassword(password.toCharArray(), saltBytes, iterations);
+    }
+
+    @Benchmark
+    public byte[] verifyLegacy() throws Exception {
+        return LegacyHashing.hashPassword(password.toCharArray(), Base64.getDecoder().decode(salt), iterations);
+    }
+
+    static class LegacyHashing {
+
+        static byte[] hashPassword(char[] password, byte[] salt, int iterations) throws Exception {
+            SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+            PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, 64);
+            return skf.generateSecret(spec).getEncoded();
+        }
+    }
+}
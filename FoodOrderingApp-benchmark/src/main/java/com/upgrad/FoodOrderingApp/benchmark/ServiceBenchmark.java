@@ -0,0 +1,128 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.api.controller.RestaurantController;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantListResponse;
+import com.upgrad.FoodOrderingApp.service.businness.ItemService;
+import com.upgrad.FoodOrderingApp.service.businness.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidCursorException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//The item and restaurant listing reads on the in-memory database,at the size of insert.sql and scaled up by BenchmarkData.
+//Each call runs in its own read only transaction,as a request does with its open entity manager,and reads what the controller would read.
+//Run with -prof gc for the bytes allocated per call.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ServiceBenchmark {
+
+    //Copies of insert.sql,1 is the seed data itself.
+    @Param({"1", "500"})
+    private int scale;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ItemService itemService;
+
+    private RestaurantController restaurantController;
+
+    private RestaurantEntity restaurantEntity;
+
+    private String restaurantUuid;
+
+    private String categoryUuid;
+
+    private String deepPageCursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start(scale);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        itemService = context.getBean(ItemService.class);
+        restaurantController = context.getBean(RestaurantController.class);
+
+        //The last copied restaurant and one of its categories.
+        Map<String, Object> restaurantCategory = context.getBean(JdbcTemplate.class).queryForMap(
+                "SELECT r.uuid AS restaurant_uuid, c.uuid AS category_uuid FROM restaurant r JOIN restaurant_category rc ON rc.restaurant_id = r.id " +
+                        "JOIN category c ON c.id = rc.category_id ORDER BY r.id DESC, c.id ASC LIMIT 1");
+        restaurantUuid = restaurantCategory.get("restaurant_uuid").toString();
+        categoryUuid = restaurantCategory.get("category_uuid").toString();
+        restaurantEntity = context.getBean(RestaurantService.class).restaurantByUUID(restaurantUuid);
+
+        //The cursor after the restaurant 20 places before the last one in rating order,or after the first one when there are fewer.
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int restaurantCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM restaurant", Integer.class);
+        String deepPageUuid = jdbcTemplate.queryForObject(
+                "SELECT uuid FROM restaurant ORDER BY customer_rating ASC, id ASC LIMIT 1 OFFSET ?", String.class, Math.min(20, restaurantCount - 1));
+        RestaurantService restaurantService = context.getBean(RestaurantService.class);
+        deepPageCursor = restaurantService.getNextRestaurantCursor(Collections.singletonList(restaurantService.restaurantByUUID(deepPageUuid)), null, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void itemsByPopularity(Blackhole blackhole) {
+        transactionTemplate.execute(status -> {
+            consumeItems(itemService.getItemsByPopularity(restaurantEntity), blackhole);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void itemsByCategoryAndRestaurant(Blackhole blackhole) {
+        transactionTemplate.execute(status -> {
+            consumeItems(itemService.getItemsByCategoryAndRestaurant(restaurantUuid, categoryUuid), blackhole);
+            return null;
+        });
+    }
+
+    //GET /restaurant,the first page of the listing with address, state and category names.
+    @Benchmark
+    public RestaurantListResponse restaurantListing() {
+        return transactionTemplate.execute(status -> getRestaurantPage(null));
+    }
+
+    //GET /restaurant with the cursor of one of the last pages,it should cost the same as the first page.
+    @Benchmark
+    public RestaurantListResponse restaurantListingDeepPage() {
+        return transactionTemplate.execute(status -> getRestaurantPage(deepPageCursor));
+    }
+
+    private RestaurantListResponse getRestaurantPage(String cursor) {
+        try {
+            return restaurantController.getAllRestaurants(null, null, cursor).getBody();
+        } catch (InvalidCursorException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //Reads the fields ItemController returns,so lazily loaded items are loaded within the measured call.
+    private static void consumeItems(List<ItemEntity> itemEntities, Blackhole blackhole) {
+        for (ItemEntity itemEntity : itemEntities) {
+            blackhole.consume(itemEntity.getItemName());
+            blackhole.consume(itemEntity.getPrice());
+            blackhole.consume(itemEntity.getType());
+        }
+    }
+}
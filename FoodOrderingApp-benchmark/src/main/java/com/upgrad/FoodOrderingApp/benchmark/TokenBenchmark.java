@@ -0,0 +1,35 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.service.businness.JwtTokenProvider;
+import com.upgrad.FoodOrderingApp.service.businness.UuidGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//Signing of the access token of a login,run with -prof gc for the bytes allocated per token.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String customerUuid = UUID.randomUUID().toString();
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider("benchmark-secret", new UuidGenerator(UuidGenerator.TIME_ORDERED));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        ZonedDateTime now = ZonedDateTime.now();
+        return jwtTokenProvider.generateToken(customerUuid, now, now.plusHours(8));
+    }
+}
@@ -0,0 +1,162 @@
+package com.upgrad.FoodOrderingApp.benchmark;
+
+import com.upgrad.FoodOrderingApp.service.common.InputValidator;
+import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
+import com.upgrad.FoodOrderingApp.service.common.ValidationResult;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//Compares InputValidator with the regex checks UtilityProvider used before it,run with -prof gc to see the bytes allocated per call.
+//The UtilityProvider checks of a signup and of a login header are measured as the controllers call them.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final InputValidator inputValidator = new InputValidator();
+
+    private String password = "Secret#Pass1";
+
+    private String contactNumber = "9876543210";
+
+    private String email = "first.last+tag@mail.example.com";
+
+    private String pincode = "560001";
+
+    private String customerRating = "4.5";
+
+    private String authorization = "Basic " + Base64.getEncoder().encodeToString("9876543210:Secret#Pass1".getBytes(StandardCharsets.UTF_8));
+
+    private CustomerEntity customerEntity;
+
+    private AnnotationConfigApplicationContext context;
+
+    private UtilityProvider utilityProvider;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(InputValidator.class, UtilityProvider.class);
+        utilityProvider = context.getBean(UtilityProvider.class);
+        customerEntity = new CustomerEntity();
+        customerEntity.setFirstName("First");
+        customerEntity.setEmail(email);
+        customerEntity.setContactNumber(contactNumber);
+        customerEntity.setPassword(password);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    //The checks CustomerService.saveCustomer runs before hashing the password.
+    @Benchmark
+    public boolean signupChecks() throws Exception {
+        return utilityProvider.isValidSignupRequest(customerEntity) && utilityProvider.isEmailValid(customerEntity.getEmail())
+                && utilityProvider.isContactValid(customerEntity.getContactNumber()) && utilityProvider.isValidPassword(customerEntity.getPassword());
+    }
+
+    //The check of the Basic authorization header of a login.
+    @Benchmark
+    public boolean authorizationFormat() throws Exception {
+        return utilityProvider.isValidAuthorizationFormat(authorization);
+    }
+
+    @Benchmark
+    public ValidationResult password() {
+        return inputValidator.validatePassword(password);
+    }
+
+    @Benchmark
+    public boolean passwordRegex() {
+        return LegacyValidation.isValidPassword(password);
+    }
+
+    @Benchmark
+    public ValidationResult contactNumber() {
+        return inputValidator.validateContactNumber(contactNumber);
+    }
+
+    @Benchmark
+    public boolean contactNumberRegex() {
+        return LegacyValidation.isContactValid(contactNumber);
+    }
+
+    @Benchmark
+    public ValidationResult email() {
+        return inputValidator.validateEmail(email);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return LegacyValidation.isEmailValid(email);
+    }
+
+    @Benchmark
+    public ValidationResult pincode() {
+        return inputValidator.validatePincode(pincode);
+    }
+
+    @Benchmark
+    public boolean pincodeRegex() {
+        return LegacyValidation.isPincodeValid(pincode);
+    }
+
+    @Benchmark
+    public ValidationResult customerRating() {
+        return inputValidator.validateCustomerRating(customerRating);
+    }
+
+    @Benchmark
+    public boolean customerRatingRegex() {
+        return LegacyValidation.isValidCustomerRating(customerRating);
+    }
+
+    //The checks as UtilityProvider did them before InputValidator,kept only as the baseline of this benchmark.
+    static class LegacyValidation {
+
+        static boolean isValidPassword(String password) {
+            if (password.length() < 8) {
+                return false;
+            }
+            return password.matches("(?=.*[0-9]).*") && password.matches("(?=.*[a-z]).*")
+                    && password.matches("(?=.*[A-Z]).*") && password.matches("(?=.*[#@$%&*!^]).*");
+        }
+
+        static boolean isContactValid(String contactNumber) {
+            Pattern p = Pattern.compile("(0/91)?[7-9][0-9]{9}");
+            Matcher m = p.matcher(contactNumber);
+            return (m.find() && m.group().equals(contactNumber));
+        }
+
+        static boolean isEmailValid(String email) {
+            return email.matches("^[\\w-_\\.+]*[\\w-_\\.]\\@([\\w]+\\.)+[\\w]+[\\w]$");
+        }
+
+        static boolean isPincodeValid(String pincode) {
+            Pattern p = Pattern.compile("\\d{6}\\b");
+            Matcher m = p.matcher(pincode);
+            return (m.find() && m.group().equals(pincode));
+        }
+
+        static boolean isValidCustomerRating(String customerRating) {
+            if (customerRating.equals("5.0")) {
+                return true;
+            }
+            Pattern p = Pattern.compile("[1-4].[0-9]");
+            Matcher m = p.matcher(customerRating);
+            return (m.find() && m.group().equals(customerRating));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import com.upgrad.FoodOrderingApp.api.model.RestaurantList;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantListResponse;
+
+import java.util.*;
+
+//What the virtual customers pick from,read from the app once before the run.
+//The restaurants keep the order of GET /restaurant,best rated first,and are picked with a Zipf like skew so the top ones are hot.
+
+public class Catalog {
+
+    private final List<UUID> restaurantIds = new ArrayList<>();
+
+    private final List<String> searchTerms = new ArrayList<>();
+
+    private final UUID paymentId;
+
+    private final String stateUuid;
+
+    public Catalog(RestaurantListResponse restaurantListResponse, UUID paymentId, String stateUuid) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (RestaurantList restaurantList : restaurantListResponse.getRestaurants()) {
+            restaurantIds.add(restaurantList.getId());
+            //Every word of a name that is long enough to be typed as a search.
+            for (String word : restaurantList.getRestaurantName().split("\\s+")) {
+                if (word.length() >= 3 && word.chars().allMatch(Character::isLetter)) {
+                    terms.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        if (restaurantIds.isEmpty()) {
+            throw new IllegalStateException("GET /restaurant returned no restaurants");
+        }
+        if (terms.isEmpty()) {
+            terms.add(restaurantListResponse.getRestaurants().get(0).getRestaurantName());
+        }
+        searchTerms.addAll(terms);
+        this.paymentId = paymentId;
+        this.stateUuid = stateUuid;
+    }
+
+    //The rank k is picked with a probability of about 1/(k + 1).
+    public UUID nextRestaurantId(Random random) {
+        int count = restaurantIds.size();
+        int index = (int) Math.exp(random.nextDouble() * Math.log(count + 1)) - 1;
+        return restaurantIds.get(Math.min(Math.max(index, 0), count - 1));
+    }
+
+    public String nextSearchTerm(Random random) {
+        return searchTerms.get(random.nextInt(searchTerms.size()));
+    }
+
+    public int getRestaurantCount() {
+        return restaurantIds.size();
+    }
+
+    public UUID getPaymentId() {
+        return paymentId;
+    }
+
+    public String getStateUuid() {
+        return stateUuid;
+    }
+}
@@ -0,0 +1,47 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+//The endpoints of the traffic mix,each gets its own latency histogram.
+//The weight is the default share of the requests,see TrafficMix for overriding it.
+
+public enum Endpoint {
+
+    RESTAURANTS("restaurants", "GET /restaurant", 10),
+    RESTAURANT("restaurant", "GET /restaurant/{restaurant_id}", 35),
+    RESTAURANTS_BY_NAME("search", "GET /restaurant/name/{restaurant_name}", 25),
+    LOGIN("login", "POST /customer/login", 5),
+    SAVE_ORDER("order", "POST /order", 10),
+    PAST_ORDERS("orders", "GET /order", 15);
+
+    private final String key;
+
+    private final String path;
+
+    private final int weight;
+
+    Endpoint(String key, String path, int weight) {
+        this.key = key;
+        this.path = path;
+        this.weight = weight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + key);
+    }
+}
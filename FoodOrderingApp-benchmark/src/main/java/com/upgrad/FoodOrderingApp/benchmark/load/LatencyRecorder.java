@@ -0,0 +1,69 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//Latencies in microseconds and error counts per endpoint,written by all the virtual customers.
+//The Recorder of HdrHistogram hands out the values of an interval without stopping the writers,
+//the intervals after the warmup are added up to the histogram of the whole run.
+
+public class LatencyRecorder {
+
+    //Slower responses are recorded as a minute.
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Histogram> intervalHistograms = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Histogram> totalHistograms = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Long> totalErrors = new EnumMap<>(Endpoint.class);
+
+    public LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+            totalHistograms.put(endpoint, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            totalErrors.put(endpoint, 0L);
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyNanos, boolean succeeded) {
+        long latencyMicros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(endpoint).recordValue(latencyMicros);
+        if (!succeeded) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    //Takes the values recorded since the last interval,they count towards the run only when measuring.
+    public Map<Endpoint, Histogram> nextInterval(boolean measuring, Map<Endpoint, Long> intervalErrors) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram interval = recorders.get(endpoint).getIntervalHistogram(intervalHistograms.get(endpoint));
+            intervalHistograms.put(endpoint, interval);
+            long errorCount = errors.get(endpoint).sumThenReset();
+            intervalErrors.put(endpoint, errorCount);
+            if (measuring) {
+                totalHistograms.get(endpoint).add(interval);
+                totalErrors.put(endpoint, totalErrors.get(endpoint) + errorCount);
+            }
+        }
+        return intervalHistograms;
+    }
+
+    public Histogram getTotalHistogram(Endpoint endpoint) {
+        return totalHistograms.get(endpoint);
+    }
+
+    public long getTotalErrors(Endpoint endpoint) {
+        return totalErrors.get(endpoint);
+    }
+}
@@ -0,0 +1,214 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import com.upgrad.FoodOrderingApp.api.FoodOrderingAppApiApplication;
+import com.upgrad.FoodOrderingApp.benchmark.BenchmarkData;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/* Replays the traffic mix of TrafficMix against the running app with one thread per virtual customer and prints the latency percentiles per endpoint.
+Run against the app on PostgreSQL,e.g. after mvn -Pgenerate-data process-resources in FoodOrderingApp-db whose customers log in with Passw0rd@1:
+    java -cp FoodOrderingApp-benchmark/target/benchmarks.jar com.upgrad.FoodOrderingApp.benchmark.load.LoadTest --url=http://localhost:8080/api --threads=32
+or with --embedded against the app started in this JVM on the in-memory database of the benchmarks,insert.sql copied --scale times.
+The in-memory database does not place orders,an embedded run leaves POST /order out of the mix and refuses a --mix that gives it a weight.
+Customers that do not exist yet are signed up with the password,the first one has the contact number --first-contact-number.
+Options,with their defaults:
+    --url=http://localhost:8080/api  --embedded  --scale=100
+    --threads=16  --customers=<threads>  --first-contact-number=7000000001  --password=Passw0rd@1  --coupon=NEW30
+    --duration=60  --warmup=10  --report-interval=10  (seconds)
+    --rate=0  (requests per second of each virtual customer,0 sends the next request as soon as the last one is answered)
+    --mix=restaurants:10,restaurant:35,search:25,login:5,order:10,orders:15
+    --output=<directory>  (writes the percentile distribution of each endpoint as <endpoint>.hgrm)
+ */
+public class LoadTest {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", String.valueOf(threads)));
+        long firstContactNumber = Long.parseLong(options.getOrDefault("first-contact-number", "7000000001"));
+        String password = options.getOrDefault("password", "Passw0rd@1");
+        String couponName = options.getOrDefault("coupon", "NEW30");
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int reportInterval = Integer.parseInt(options.getOrDefault("report-interval", "10"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        boolean embedded = options.containsKey("embedded");
+        String mix = options.get("mix");
+
+        //HttpURLConnection keeps 5 idle connections per host by default,one per virtual customer avoids reconnecting under load.
+        System.setProperty("http.maxConnections", String.valueOf(threads));
+
+        //The order count upsert is PostgreSQL SQL that H2 does not run,orders are only placed against PostgreSQL.
+        //An embedded run refuses a mix that asks for orders and otherwise leaves them out of the default mix with a warning.
+        TrafficMix trafficMix = new TrafficMix(mix);
+        boolean ordersExcluded = embedded && trafficMix.getWeight(Endpoint.SAVE_ORDER) > 0;
+        if (ordersExcluded) {
+            if (trafficMix.isListed(Endpoint.SAVE_ORDER)) {
+                throw new IllegalArgumentException("Orders can not be placed with --embedded,the in-memory database does not run the order count upsert."
+                        + " Run the order traffic against the app on PostgreSQL with --url");
+            }
+            trafficMix = new TrafficMix(mix == null ? "order:0" : "order:0," + mix);
+        }
+
+        ConfigurableApplicationContext context = null;
+        String url = options.getOrDefault("url", "http://localhost:8080/api");
+        if (embedded) {
+            context = startEmbedded(Integer.parseInt(options.getOrDefault("scale", "100")));
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + context.getEnvironment().getProperty("server.servlet.contextPath", "");
+        }
+
+        try {
+            LoadTestClient client = new LoadTestClient(url);
+            Catalog catalog = new Catalog(client.getAllRestaurantPages(), client.getPaymentMethods().get(0).getId(), client.getAllStates().get(0).getId().toString());
+            System.out.println("Load test of " + url + " with " + threads + " virtual customers,mix " + trafficMix + ","
+                    + catalog.getRestaurantCount() + " restaurants");
+            if (ordersExcluded) {
+                printOrdersExcluded();
+            }
+
+            LatencyRecorder latencyRecorder = new LatencyRecorder();
+            List<VirtualCustomer> virtualCustomers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String contactNumber = String.valueOf(firstContactNumber + i % customers);
+                virtualCustomers.add(new VirtualCustomer(client, catalog, trafficMix, latencyRecorder, contactNumber, password, couponName, rate, i));
+            }
+
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                //Sign up and log in every customer before the clock starts.
+                List<Future<?>> setUps = new ArrayList<>();
+                for (VirtualCustomer virtualCustomer : virtualCustomers) {
+                    setUps.add(executorService.submit(virtualCustomer::setUp));
+                }
+                for (Future<?> setUp : setUps) {
+                    setUp.get();
+                }
+
+                for (VirtualCustomer virtualCustomer : virtualCustomers) {
+                    executorService.submit(virtualCustomer);
+                }
+                long start = System.nanoTime();
+                runPhase(latencyRecorder, start, warmup, reportInterval, false);
+                runPhase(latencyRecorder, start + TimeUnit.SECONDS.toNanos(warmup), duration, reportInterval, true);
+            } finally {
+                virtualCustomers.forEach(VirtualCustomer::stop);
+                executorService.shutdown();
+                executorService.awaitTermination(1, TimeUnit.MINUTES);
+            }
+
+            printSummary(latencyRecorder, duration);
+            if (ordersExcluded) {
+                printOrdersExcluded();
+            }
+            if (options.containsKey("output")) {
+                writeDistributions(latencyRecorder, new File(options.get("output")));
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void printOrdersExcluded() {
+        System.out.println("WARNING: POST /order is excluded from this embedded run as the in-memory database does not run the order count upsert,"
+                + "the results have no order traffic.Run against the app on PostgreSQL with --url to include it.");
+    }
+
+    //The api application on the in-memory database of application-benchmark.yaml,served on a free port.
+    private static ConfigurableApplicationContext startEmbedded(int scale) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FoodOrderingAppApiApplication.class)
+                .profiles("benchmark")
+                .run("--spring.main.web-application-type=servlet", "--server.port=0");
+        BenchmarkData.load(context.getBean(DataSource.class), scale);
+        return context;
+    }
+
+    //Prints a line for every report interval of the phase,the measured phase adds its intervals up for the summary.
+    private static void runPhase(LatencyRecorder latencyRecorder, long phaseStart, int seconds, int reportInterval, boolean measuring) throws InterruptedException {
+        long phaseEnd = phaseStart + TimeUnit.SECONDS.toNanos(seconds);
+        long intervalStart = phaseStart;
+        Map<Endpoint, Long> intervalErrors = new EnumMap<>(Endpoint.class);
+        while (intervalStart < phaseEnd) {
+            long intervalEnd = Math.min(intervalStart + TimeUnit.SECONDS.toNanos(reportInterval), phaseEnd);
+            long wait = intervalEnd - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            Map<Endpoint, Histogram> intervalHistograms = latencyRecorder.nextInterval(measuring, intervalErrors);
+
+            Histogram all = new Histogram(3);
+            long errors = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                all.add(intervalHistograms.get(endpoint));
+                errors += intervalErrors.get(endpoint);
+            }
+            double intervalSeconds = (intervalEnd - intervalStart) / 1e9;
+            System.out.printf("%-9s %8.1f req/s %6d errors  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                    measuring ? "measure" : "warmup", all.getTotalCount() / intervalSeconds, errors,
+                    all.getValueAtPercentile(50) / MICROS_PER_MILLI, all.getValueAtPercentile(99) / MICROS_PER_MILLI, all.getMaxValue() / MICROS_PER_MILLI);
+            intervalStart = intervalEnd;
+        }
+    }
+
+    private static void printSummary(LatencyRecorder latencyRecorder, int duration) {
+        System.out.println();
+        System.out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencyRecorder.getTotalHistogram(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.getPath(), histogram.getTotalCount(),
+                    latencyRecorder.getTotalErrors(endpoint), histogram.getTotalCount() / (double) duration,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI, histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI, histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+
+    //The .hgrm files can be compared between runs with the HdrHistogram plotter.
+    private static void writeDistributions(LatencyRecorder latencyRecorder, File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create " + directory);
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencyRecorder.getTotalHistogram(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream printStream = new PrintStream(new File(directory, endpoint.getKey() + ".hgrm"), "UTF-8")) {
+                histogram.outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+            }
+        }
+        System.out.println("Percentile distributions written to " + directory.getAbsolutePath());
+    }
+
+    //--name=value,a bare --name is set to true.
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Options are given as --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
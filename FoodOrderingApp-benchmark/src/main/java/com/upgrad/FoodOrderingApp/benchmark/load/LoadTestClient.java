@@ -0,0 +1,125 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+//The calls of the load test with the request and response models generated from the endpoints/*.json specs.
+//A response other than 2xx is thrown as a RestClientException by the RestTemplate,the caller counts it as an error.
+
+public class LoadTestClient {
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final String baseUrl;
+
+    public LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    //The first page of the listing,best rated first.
+    public RestaurantListResponse getAllRestaurants() {
+        return restTemplate.getForObject(baseUrl + "/restaurant", RestaurantListResponse.class);
+    }
+
+    //Every page of the listing in one response,following the next_cursor of each page.
+    public RestaurantListResponse getAllRestaurantPages() {
+        RestaurantListResponse allRestaurants = new RestaurantListResponse().restaurants(new ArrayList<>());
+        String cursor = null;
+        do {
+            UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(baseUrl + "/restaurant").queryParam("page_size", 50);
+            if (cursor != null) {
+                uriBuilder.queryParam("cursor", cursor);
+            }
+            RestaurantListResponse page = restTemplate.getForObject(uriBuilder.toUriString(), RestaurantListResponse.class);
+            allRestaurants.getRestaurants().addAll(page.getRestaurants());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return allRestaurants;
+    }
+
+    public RestaurantDetailsResponse getRestaurantById(UUID restaurantId) {
+        return restTemplate.getForObject(baseUrl + "/restaurant/{restaurant_id}", RestaurantDetailsResponse.class, restaurantId);
+    }
+
+    public RestaurantListResponse getRestaurantsByName(String restaurantName) {
+        return restTemplate.getForObject(baseUrl + "/restaurant/name/{restaurant_name}", RestaurantListResponse.class, restaurantName);
+    }
+
+    public SignupCustomerResponse signup(SignupCustomerRequest signupCustomerRequest) {
+        return restTemplate.postForObject(baseUrl + "/customer/signup", jsonEntity(signupCustomerRequest, null), SignupCustomerResponse.class);
+    }
+
+    //Returns the access token of the access-token header.
+    public String login(String contactNumber, String password) {
+        HttpHeaders headers = new HttpHeaders();
+        String credentials = contactNumber + ":" + password;
+        headers.set("authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        ResponseEntity<LoginResponse> response = restTemplate.exchange(baseUrl + "/customer/login", HttpMethod.POST, new HttpEntity<>(headers), LoginResponse.class);
+        return response.getHeaders().getFirst("access-token");
+    }
+
+    public List<StatesList> getAllStates() {
+        return restTemplate.getForObject(baseUrl + "/states", StatesListResponse.class).getStates();
+    }
+
+    public List<PaymentResponse> getPaymentMethods() {
+        return restTemplate.getForObject(baseUrl + "/payment", PaymentListResponse.class).getPaymentMethods();
+    }
+
+    public List<AddressList> getAllSavedAddresses(String accessToken) {
+        return restTemplate.exchange(baseUrl + "/address/customer", HttpMethod.GET, new HttpEntity<>(bearer(accessToken)), AddressListResponse.class)
+                .getBody().getAddresses();
+    }
+
+    //The address controller binds the address from the query parameters.
+    public String saveAddress(String accessToken, SaveAddressRequest saveAddressRequest) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/address")
+                .queryParam("flatBuildingName", saveAddressRequest.getFlatBuildingName())
+                .queryParam("locality", saveAddressRequest.getLocality())
+                .queryParam("city", saveAddressRequest.getCity())
+                .queryParam("pincode", saveAddressRequest.getPincode())
+                .queryParam("stateUuid", saveAddressRequest.getStateUuid())
+                .toUriString();
+        return restTemplate.postForObject(url, jsonEntity("{}", accessToken), SaveAddressResponse.class).getId();
+    }
+
+    public CouponDetailsResponse getCouponByName(String accessToken, String couponName) {
+        return restTemplate.exchange(baseUrl + "/order/coupon/{coupon_name}", HttpMethod.GET, new HttpEntity<>(bearer(accessToken)), CouponDetailsResponse.class, couponName)
+                .getBody();
+    }
+
+    public SaveOrderResponse saveOrder(String accessToken, SaveOrderRequest saveOrderRequest) {
+        return restTemplate.postForObject(baseUrl + "/order", jsonEntity(saveOrderRequest, accessToken), SaveOrderResponse.class);
+    }
+
+    public CustomerOrderResponse getPastOrders(String accessToken) {
+        return restTemplate.exchange(baseUrl + "/order", HttpMethod.GET, new HttpEntity<>(bearer(accessToken)), CustomerOrderResponse.class)
+                .getBody();
+    }
+
+    private static HttpHeaders bearer(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        if (accessToken != null) {
+            headers.set("authorization", "Bearer " + accessToken);
+        }
+        return headers;
+    }
+
+    private static <T> HttpEntity<T> jsonEntity(T body, String accessToken) {
+        HttpHeaders headers = bearer(accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -0,0 +1,78 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+//Picks the endpoint of the next request by weight.
+//The weights default to those of Endpoint,--mix=restaurant:50,order:0 changes the listed ones.
+
+public class TrafficMix {
+
+    private final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+
+    //The endpoints whose weight the mix gives,the others keep the default of Endpoint.
+    private final Set<Endpoint> listed = EnumSet.noneOf(Endpoint.class);
+
+    private final Endpoint[] endpoints = Endpoint.values();
+
+    private final int[] cumulativeWeights = new int[endpoints.length];
+
+    public TrafficMix(String mix) {
+        for (Endpoint endpoint : endpoints) {
+            weights.put(endpoint, endpoint.getWeight());
+        }
+        if (mix != null && !mix.isEmpty()) {
+            for (String entry : mix.split(",")) {
+                String[] keyAndWeight = entry.split(":");
+                if (keyAndWeight.length != 2) {
+                    throw new IllegalArgumentException("Mix entries are endpoint:weight, got " + entry);
+                }
+                Endpoint endpoint = Endpoint.fromKey(keyAndWeight[0].trim());
+                weights.put(endpoint, Integer.parseInt(keyAndWeight[1].trim()));
+                listed.add(endpoint);
+            }
+        }
+
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one endpoint needs a weight above 0");
+        }
+    }
+
+    public Endpoint next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    public int getWeight(Endpoint endpoint) {
+        return weights.get(endpoint);
+    }
+
+    public boolean isListed(Endpoint endpoint) {
+        return listed.contains(endpoint);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        for (Endpoint endpoint : endpoints) {
+            if (mix.length() > 0) {
+                mix.append(',');
+            }
+            mix.append(endpoint.getKey()).append(':').append(weights.get(endpoint));
+        }
+        return mix.toString();
+    }
+}
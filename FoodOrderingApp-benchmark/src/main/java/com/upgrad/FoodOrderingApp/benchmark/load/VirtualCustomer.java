@@ -0,0 +1,190 @@
+package com.upgrad.FoodOrderingApp.benchmark.load;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+//One customer of the load test on its own thread,logged in with a saved address and sending the requests of the traffic mix one after another.
+//An order is placed at the restaurant the customer viewed last,as in the app where the menu is read before ordering.
+//With a rate the requests are sent on a fixed schedule and the latency is taken from the time a request was due,
+//so a slow response also counts against the requests that had to wait for it.
+
+public class VirtualCustomer implements Runnable {
+
+    private static final int MAX_ITEMS_PER_ORDER = 4;
+
+    private static final int MAX_QUANTITY = 3;
+
+    private final LoadTestClient client;
+
+    private final Catalog catalog;
+
+    private final TrafficMix trafficMix;
+
+    private final LatencyRecorder latencyRecorder;
+
+    private final String contactNumber;
+
+    private final String password;
+
+    private final String couponName;
+
+    private final long intervalNanos;
+
+    private final Random random;
+
+    private volatile boolean running = true;
+
+    private String accessToken;
+
+    private String addressId;
+
+    private UUID couponId;
+
+    private int couponPercent;
+
+    private RestaurantDetailsResponse lastViewedRestaurant;
+
+    public VirtualCustomer(LoadTestClient client, Catalog catalog, TrafficMix trafficMix, LatencyRecorder latencyRecorder,
+                           String contactNumber, String password, String couponName, double requestsPerSecond, long seed) {
+        this.client = client;
+        this.catalog = catalog;
+        this.trafficMix = trafficMix;
+        this.latencyRecorder = latencyRecorder;
+        this.contactNumber = contactNumber;
+        this.password = password;
+        this.couponName = couponName;
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (1_000_000_000L / requestsPerSecond) : 0;
+        this.random = new Random(seed);
+    }
+
+    //Logs the customer in,signing it up first when the contact number is unknown,saves an address when it has none and looks up the coupon of its orders.
+    public void setUp() {
+        try {
+            accessToken = client.login(contactNumber, password);
+        } catch (HttpClientErrorException e) {
+            SignupCustomerRequest signupCustomerRequest = new SignupCustomerRequest()
+                    .firstName("Load")
+                    .lastName("Test")
+                    .emailAddress("load" + contactNumber + "@test.com")
+                    .contactNumber(contactNumber)
+                    .password(password);
+            client.signup(signupCustomerRequest);
+            accessToken = client.login(contactNumber, password);
+        }
+
+        List<AddressList> addresses = client.getAllSavedAddresses(accessToken);
+        if (addresses != null && !addresses.isEmpty()) {
+            addressId = addresses.get(0).getId().toString();
+        } else {
+            SaveAddressRequest saveAddressRequest = new SaveAddressRequest()
+                    .flatBuildingName("1 Load Test Road")
+                    .locality("Load Test Nagar")
+                    .city("Load Test City")
+                    .pincode("110001")
+                    .stateUuid(catalog.getStateUuid());
+            addressId = client.saveAddress(accessToken, saveAddressRequest);
+        }
+
+        CouponDetailsResponse couponDetailsResponse = client.getCouponByName(accessToken, couponName);
+        couponId = couponDetailsResponse.getId();
+        couponPercent = couponDetailsResponse.getPercent();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long dueTime = System.nanoTime();
+        while (running) {
+            if (intervalNanos > 0) {
+                long wait = dueTime - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            long start = intervalNanos > 0 ? dueTime : System.nanoTime();
+            Endpoint endpoint = trafficMix.next(random);
+            if (endpoint == Endpoint.SAVE_ORDER && lastViewedRestaurant == null) {
+                endpoint = Endpoint.RESTAURANT;
+            }
+
+            boolean succeeded;
+            try {
+                send(endpoint);
+                succeeded = true;
+            } catch (RestClientException e) {
+                succeeded = false;
+            }
+            if (running) {
+                latencyRecorder.record(endpoint, System.nanoTime() - start, succeeded);
+            }
+            dueTime += intervalNanos;
+        }
+    }
+
+    private void send(Endpoint endpoint) {
+        switch (endpoint) {
+            case RESTAURANTS:
+                client.getAllRestaurants();
+                break;
+            case RESTAURANT:
+                lastViewedRestaurant = client.getRestaurantById(catalog.nextRestaurantId(random));
+                break;
+            case RESTAURANTS_BY_NAME:
+                client.getRestaurantsByName(catalog.nextSearchTerm(random));
+                break;
+            case LOGIN:
+                accessToken = client.login(contactNumber, password);
+                break;
+            case SAVE_ORDER:
+                client.saveOrder(accessToken, newOrder(lastViewedRestaurant));
+                break;
+            case PAST_ORDERS:
+                client.getPastOrders(accessToken);
+                break;
+            default:
+                throw new IllegalStateException("No request for " + endpoint);
+        }
+    }
+
+    //A few items of the menu with the coupon,the bill is the total after the discount.
+    private SaveOrderRequest newOrder(RestaurantDetailsResponse restaurant) {
+        List<ItemList> menu = new ArrayList<>();
+        for (CategoryList categoryList : restaurant.getCategories()) {
+            if (categoryList.getItemList() != null) {
+                menu.addAll(categoryList.getItemList());
+            }
+        }
+
+        SaveOrderRequest saveOrderRequest = new SaveOrderRequest()
+                .addressId(addressId)
+                .paymentId(catalog.getPaymentId())
+                .couponId(couponId)
+                .restaurantId(restaurant.getId());
+        int total = 0;
+        int lines = menu.isEmpty() ? 0 : 1 + random.nextInt(Math.min(MAX_ITEMS_PER_ORDER, menu.size()));
+        for (int i = 0; i < lines; i++) {
+            ItemList item = menu.get(random.nextInt(menu.size()));
+            int quantity = 1 + random.nextInt(MAX_QUANTITY);
+            saveOrderRequest.addItemQuantitiesItem(new ItemQuantity()
+                    .itemId(item.getId())
+                    .quantity(quantity)
+                    .price(item.getPrice() * quantity));
+            total += item.getPrice() * quantity;
+        }
+        BigDecimal discount = BigDecimal.valueOf(total * couponPercent / 100);
+        return saveOrderRequest
+                .bill(BigDecimal.valueOf(total).subtract(discount))
+                .discount(discount);
+    }
+}
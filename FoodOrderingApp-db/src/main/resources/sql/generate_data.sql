@@ -0,0 +1,127 @@
+-- Generates a production shaped dataset on top of insert.sql.Run it once on a fresh database: mvn -Psetup process-resources,then mvn -Pgenerate-data process-resources.
+-- The volumes are the generator.* properties of the pom,e.g. -Dgenerator.restaurants=50000 -Dgenerator.orders=5000000.
+-- Restaurants and the items of a menu are picked with a Zipf like distribution (rank = exp(random * ln(n))),so a few hot restaurants
+-- and dishes get most of the orders,and a few frequent customers place many of them.setseed makes every run produce the same data.
+-- Every generated customer logs in with 7 and its number padded to 9 digits as contact number (7000000001,...) and the password Passw0rd@1.
+-- The rows are generated by the server with INSERT ... SELECT,nothing is sent over the connection.
+SELECT setseed(@generator.seed@);
+
+CREATE TEMP TABLE gen_base AS SELECT
+  (SELECT COALESCE(MAX(id), 0) FROM category) AS category_id,
+  (SELECT COALESCE(MAX(id), 0) FROM address) AS address_id,
+  (SELECT COALESCE(MAX(id), 0) FROM restaurant) AS restaurant_id,
+  (SELECT COALESCE(MAX(id), 0) FROM item) AS item_id,
+  (SELECT COALESCE(MAX(id), 0) FROM customer) AS customer_id,
+  (SELECT COALESCE(MAX(id), 0) FROM orders) AS order_id,
+  @generator.restaurants@ AS restaurants,
+  @generator.menu-size@ AS menu_size,
+  @generator.categories@ AS categories,
+  @generator.customers@ AS customers,
+  @generator.orders@ AS orders,
+  @generator.max-items-per-order@ AS max_order_items;
+
+-- categories,states,payments and coupons are numbered from 1 so that they can be picked by number
+INSERT INTO category(id, uuid, category_name)
+  SELECT b.category_id + g, CAST(md5('category-' || g) AS uuid), 'Cuisine ' || g FROM gen_base b, generate_series(1, b.categories) g;
+CREATE TEMP TABLE gen_category AS SELECT row_number() OVER (ORDER BY id) AS n, id FROM category;
+CREATE TEMP TABLE gen_state AS SELECT row_number() OVER (ORDER BY id) AS n, id FROM state;
+CREATE TEMP TABLE gen_payment AS SELECT row_number() OVER (ORDER BY id) AS n, id FROM payment;
+CREATE TEMP TABLE gen_coupon AS SELECT row_number() OVER (ORDER BY id) AS n, id FROM coupon;
+CREATE TEMP TABLE gen_count AS SELECT
+  (SELECT COUNT(*) FROM gen_category) AS categories,
+  (SELECT COUNT(*) FROM gen_state) AS states,
+  (SELECT COUNT(*) FROM gen_payment) AS payments,
+  (SELECT COUNT(*) FROM gen_coupon) AS coupons;
+
+-- one address per restaurant followed by one per customer
+INSERT INTO address(id, uuid, flat_buil_number, locality, city, pincode, state_id, active)
+  SELECT b.address_id + g, CAST(md5('address-' || g) AS uuid), 'Building ' || (g % 997) || ', Street ' || (g % 89), 'Locality ' || (g % 500),
+    (ARRAY['Mumbai','Delhi','Bengaluru','Chennai','Kolkata','Hyderabad','Pune','Ahmedabad','Jaipur','Lucknow'])[1 + g % 10],
+    CAST(110000 + (g * 7919) % 740000 AS VARCHAR), s.id, 1
+  FROM gen_base b CROSS JOIN gen_count n CROSS JOIN generate_series(1, b.restaurants + b.customers) g JOIN gen_state s ON s.n = 1 + g % n.states;
+
+INSERT INTO restaurant(id, uuid, restaurant_name, photo_url, customer_rating, average_price_for_two, number_of_customers_rated, address_id, rating_sum)
+  SELECT b.restaurant_id + g, CAST(md5('restaurant-' || g) AS uuid),
+    (ARRAY['Spice','Royal','Green','Golden','Urban','Coastal','Tandoor','Saffron','Blue','Little'])[1 + g % 10] || ' ' ||
+    (ARRAY['Kitchen','Bistro','Dhaba','Cafe','Grill','House','Express','Garden','Table','Corner'])[1 + (g / 10) % 10] || ' ' || g,
+    'https://images.example.com/restaurant/' || g || '.jpg', 0, 200 + 100 * (g % 30), 0, b.address_id + g, 0
+  FROM gen_base b, generate_series(1, b.restaurants) g;
+
+-- every restaurant has two categories,its odd menu items are in the first and the even ones in the second
+INSERT INTO restaurant_category(restaurant_id, category_id)
+  SELECT DISTINCT b.restaurant_id + g, c.id FROM gen_base b CROSS JOIN gen_count n CROSS JOIN generate_series(1, b.restaurants) g
+  JOIN gen_category c ON c.n IN (1 + (g * 7) % n.categories, 1 + (g * 13 + 3) % n.categories);
+
+INSERT INTO item(id, uuid, item_name, price, type)
+  SELECT b.item_id + (g - 1) * b.menu_size + k, CAST(md5('item-' || g || '-' || k) AS uuid),
+    (ARRAY['Paneer Tikka','Butter Chicken','Masala Dosa','Veg Biryani','Margherita','Pasta Arrabiata','Hakka Noodles','Fish Curry','Dal Makhani','Falafel Wrap','Caesar Salad','Gulab Jamun'])[1 + (g + k) % 12] || ' ' || k,
+    50 + 10 * CAST(floor(random() * 60) AS INTEGER), CAST(CAST(floor(random() * 2) AS INTEGER) AS VARCHAR)
+  FROM gen_base b, generate_series(1, b.restaurants) g, generate_series(1, b.menu_size) k;
+
+INSERT INTO restaurant_item(item_id, restaurant_id)
+  SELECT b.item_id + (g - 1) * b.menu_size + k, b.restaurant_id + g FROM gen_base b, generate_series(1, b.restaurants) g, generate_series(1, b.menu_size) k;
+
+INSERT INTO category_item(item_id, category_id)
+  SELECT b.item_id + (g - 1) * b.menu_size + k, c.id
+  FROM gen_base b CROSS JOIN gen_count n CROSS JOIN generate_series(1, b.restaurants) g CROSS JOIN generate_series(1, b.menu_size) k
+  JOIN gen_category c ON c.n = CASE WHEN k % 2 = 1 THEN 1 + (g * 7) % n.categories ELSE 1 + (g * 13 + 3) % n.categories END;
+
+-- the password is Passw0rd@1 hashed with the default password-hashing scheme of the api
+INSERT INTO customer(id, uuid, firstname, lastname, email, contact_number, password, salt, password_scheme)
+  SELECT b.customer_id + g, CAST(md5('customer-' || g) AS uuid), 'Customer', 'No ' || g, 'customer' || g || '@example.com', '7' || lpad(CAST(g AS VARCHAR), 9, '0'),
+    'EE48585AEE8798D37EC201124CA9D2DC9CD09E23741ADB2EC32857D15A94E5A36A71C1C099BAF67CCC872B4B53D77675C6E1F79F2A004A29B6393C7F69BEE486',
+    'syipxI7vKZ4dCJrhb0iPsfBb3uxh6vAnHTHEahcZnB4=', 'PBKDF2WithHmacSHA512:10000:512'
+  FROM gen_base b, generate_series(1, b.customers) g;
+
+INSERT INTO customer_address(customer_id, address_id)
+  SELECT b.customer_id + g, b.address_id + b.restaurants + g FROM gen_base b, generate_series(1, b.customers) g;
+
+-- the orders and their lines are made in temp tables first,so that the bill is known when the order is inserted
+-- the restaurant of an order is Zipf like,the customer is skewed towards the low numbers and one order in five has a coupon
+CREATE TEMP TABLE gen_order AS SELECT g,
+    LEAST(CAST(floor(exp(random() * ln(b.restaurants + 1))) AS INTEGER), b.restaurants) AS restaurant,
+    LEAST(1 + CAST(floor(power(random(), 3) * b.customers) AS INTEGER), b.customers) AS customer,
+    now() - random() * INTERVAL '365 days' AS date, random() < 0.2 AS with_coupon, 1 + CAST(floor(random() * b.max_order_items) AS INTEGER) AS lines
+  FROM gen_base b, generate_series(1, b.orders) g;
+
+-- 1 to max-items-per-order lines per order,the item of a line is Zipf like within the menu of the restaurant
+CREATE TEMP TABLE gen_order_item AS SELECT l.g, l.restaurant, i.id AS item_id, l.quantity, i.price * l.quantity AS price
+  FROM (SELECT o.g, o.restaurant, LEAST(CAST(floor(exp(random() * ln(b.menu_size + 1))) AS INTEGER), b.menu_size) AS rank,
+      1 + CAST(floor(random() * 3) AS INTEGER) AS quantity
+    FROM gen_base b CROSS JOIN gen_order o CROSS JOIN LATERAL generate_series(1, o.lines) line) l
+  CROSS JOIN gen_base b
+  JOIN item i ON i.id = b.item_id + (l.restaurant - 1) * b.menu_size + l.rank;
+
+INSERT INTO orders(id, uuid, bill, coupon_id, discount, date, payment_id, customer_id, address_id, restaurant_id)
+  SELECT b.order_id + o.g, CAST(md5('order-' || o.g) AS uuid), t.total - t.total * COALESCE(c.percent, 0) / 100.0, c.id, t.total * COALESCE(c.percent, 0) / 100.0,
+    o.date, p.id, b.customer_id + o.customer, b.address_id + b.restaurants + o.customer, b.restaurant_id + o.restaurant
+  FROM gen_base b CROSS JOIN gen_count n CROSS JOIN gen_order o
+  JOIN (SELECT g, SUM(price) AS total FROM gen_order_item GROUP BY g) t ON t.g = o.g
+  JOIN gen_payment p ON p.n = 1 + o.g % n.payments
+  LEFT JOIN gen_coupon gc ON o.with_coupon AND gc.n = 1 + o.g % n.coupons
+  LEFT JOIN coupon c ON c.id = gc.id;
+
+INSERT INTO order_item(order_id, item_id, quantity, price)
+  SELECT b.order_id + l.g, l.item_id, l.quantity, l.price FROM gen_base b, gen_order_item l;
+
+-- a quarter of the orders were rated,the restaurants without orders stay unrated
+UPDATE restaurant r SET customer_rating = t.rating, number_of_customers_rated = t.rated, rating_sum = t.rating * t.rated
+  FROM (SELECT b.restaurant_id + o.restaurant AS restaurant_id, COUNT(*) / 4 AS rated, ROUND(CAST(2.5 + 2.5 * random() AS NUMERIC), 1) AS rating
+    FROM gen_base b, gen_order o GROUP BY b.restaurant_id + o.restaurant) t
+  WHERE r.id = t.restaurant_id;
+
+-- the order counts read by getItemsByPopularity,counted as item_counts.sql does
+INSERT INTO restaurant_item_count(restaurant_id, item_id, order_count)
+  SELECT b.restaurant_id + l.restaurant, l.item_id, COUNT(*) FROM gen_base b, gen_order_item l
+  GROUP BY b.restaurant_id + l.restaurant, l.item_id
+  ON CONFLICT (restaurant_id, item_id) DO UPDATE SET order_count = restaurant_item_count.order_count + EXCLUDED.order_count;
+
+-- the ids above were given explicitly,the sequences continue after them
+SELECT setval(pg_get_serial_sequence('category', 'id'), (SELECT MAX(id) FROM category));
+SELECT setval(pg_get_serial_sequence('address', 'id'), (SELECT MAX(id) FROM address));
+SELECT setval(pg_get_serial_sequence('restaurant', 'id'), (SELECT MAX(id) FROM restaurant));
+SELECT setval(pg_get_serial_sequence('item', 'id'), (SELECT MAX(id) FROM item));
+SELECT setval(pg_get_serial_sequence('customer', 'id'), (SELECT MAX(id) FROM customer));
+SELECT setval(pg_get_serial_sequence('orders', 'id'), (SELECT MAX(id) FROM orders));
+
+ANALYZE;
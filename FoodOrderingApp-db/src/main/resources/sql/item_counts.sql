@@ -0,0 +1,8 @@
+-- Rebuilds RESTAURANT_ITEM_COUNT from the existing ORDER_ITEM rows.
+-- The table is locked for the rebuild, so orders placed meanwhile wait and are counted on top of the rebuilt totals.
+BEGIN;
+LOCK TABLE RESTAURANT_ITEM_COUNT IN ACCESS EXCLUSIVE MODE;
+DELETE FROM RESTAURANT_ITEM_COUNT;
+INSERT INTO RESTAURANT_ITEM_COUNT(restaurant_id, item_id, order_count)
+  SELECT o.restaurant_id, oi.item_id, COUNT(*) FROM ORDER_ITEM oi JOIN ORDERS o ON o.id = oi.order_id GROUP BY o.restaurant_id, oi.item_id;
+COMMIT;
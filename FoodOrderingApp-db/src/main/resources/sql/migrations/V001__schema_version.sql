@@ -0,0 +1,3 @@
+-- Versioned migrations for an existing database.Each script can be run again safely and records its version in SCHEMA_VERSION.
+CREATE TABLE IF NOT EXISTS SCHEMA_VERSION(version INTEGER NOT NULL, description VARCHAR(200) NOT NULL, applied_at TIMESTAMP NOT NULL DEFAULT now(), PRIMARY KEY (version));
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (1, 'schema version') ON CONFLICT (version) DO NOTHING;
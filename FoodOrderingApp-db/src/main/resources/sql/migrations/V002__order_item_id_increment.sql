@@ -0,0 +1,3 @@
+-- The order item ids are allocated by hibernate in blocks of 50,the sequence has to step by the same size.
+ALTER SEQUENCE order_item_id_seq INCREMENT BY 50;
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (2, 'order item id increment') ON CONFLICT (version) DO NOTHING;
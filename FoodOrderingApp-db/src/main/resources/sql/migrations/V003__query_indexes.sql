@@ -0,0 +1,50 @@
+-- Indexes for the predicates and sort orders of the named queries.The uuid columns are already covered by their UNIQUE constraints.
+-- Built concurrently so the tables stay writable,a build that fails leaves an INVALID index which has to be dropped before running this again.
+
+-- getOrderPageByCustomer,getOrderPageByCustomerAfter:customer filter with the keyset sort
+CREATE INDEX CONCURRENTLY IF NOT EXISTS orders_customer_date_idx ON ORDERS(customer_id, date DESC, id DESC);
+-- getOrdersByRestaurant
+CREATE INDEX CONCURRENTLY IF NOT EXISTS orders_restaurant_idx ON ORDERS(restaurant_id);
+-- address deletes check the orders delivered to the address
+CREATE INDEX CONCURRENTLY IF NOT EXISTS orders_address_idx ON ORDERS(address_id);
+
+-- getItemsByOrders,getOrderItemsByOrders,incrementItemCountsByOrder
+CREATE INDEX CONCURRENTLY IF NOT EXISTS order_item_order_idx ON ORDER_ITEM(order_id, id);
+-- item deletes check the order items of the item
+CREATE INDEX CONCURRENTLY IF NOT EXISTS order_item_item_idx ON ORDER_ITEM(item_id);
+
+-- getItemsByRestaurant,getCategoryItemsByRestaurant
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_item_restaurant_idx ON RESTAURANT_ITEM(restaurant_id, item_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_item_item_idx ON RESTAURANT_ITEM(item_id);
+
+-- getItemsByCategory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS category_item_category_idx ON CATEGORY_ITEM(category_id, item_id);
+-- getCategoryItemsByRestaurant joins on the item
+CREATE INDEX CONCURRENTLY IF NOT EXISTS category_item_item_idx ON CATEGORY_ITEM(item_id, category_id);
+
+-- getCategoriesByRestaurant,getCategoryNamesByRestaurants
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_category_restaurant_idx ON RESTAURANT_CATEGORY(restaurant_id, category_id);
+-- getRestaurantByCategory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_category_category_idx ON RESTAURANT_CATEGORY(category_id, restaurant_id);
+
+-- getAllCustomerAddressByCustomer
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_address_customer_idx ON CUSTOMER_ADDRESS(customer_id, address_id);
+-- getCustomerAddressByAddress
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_address_address_idx ON CUSTOMER_ADDRESS(address_id);
+
+-- getCustomerAuthByAccessToken
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_auth_access_token_idx ON CUSTOMER_AUTH(access_token);
+-- customer deletes check the sessions of the customer
+CREATE INDEX CONCURRENTLY IF NOT EXISTS customer_auth_customer_idx ON CUSTOMER_AUTH(customer_id);
+
+-- getCouponByCouponName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS coupon_name_idx ON COUPON(coupon_name);
+-- getAllCategoriesOrderedByName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS category_name_idx ON CATEGORY(category_name);
+-- restaurantsByRating,restaurantListingByRating,getRestaurantByCategory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_rating_idx ON RESTAURANT(customer_rating DESC);
+-- restaurantListingByRating joins the address of the restaurant
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_address_idx ON RESTAURANT(address_id);
+-- getItemCountsByRestaurant is covered by the UNIQUE (restaurant_id, item_id) of RESTAURANT_ITEM_COUNT
+
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (3, 'query indexes') ON CONFLICT (version) DO NOTHING;
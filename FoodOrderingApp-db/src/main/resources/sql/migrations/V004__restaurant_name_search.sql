@@ -0,0 +1,5 @@
+-- Trigram index for restaurantsByName,which matches the lowercased name with LIKE '%name%' and ranks by similarity.
+-- pg_trgm is a trusted extension from PostgreSQL 13,on older servers it has to be created by a superuser.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_name_trgm_idx ON RESTAURANT USING gin (lower(restaurant_name) gin_trgm_ops);
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (4, 'restaurant name search') ON CONFLICT (version) DO NOTHING;
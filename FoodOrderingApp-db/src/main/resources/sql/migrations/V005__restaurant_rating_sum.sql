@@ -0,0 +1,5 @@
+-- Sum of all the ratings of the restaurant,addRestaurantRating adds to it and to number_of_customers_rated in one UPDATE.
+-- The sum is worked out from the existing average only the first time,before the version is recorded.
+ALTER TABLE RESTAURANT ADD COLUMN IF NOT EXISTS rating_sum DECIMAL NOT NULL DEFAULT 0;
+UPDATE RESTAURANT SET rating_sum = customer_rating * number_of_customers_rated WHERE NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 5);
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (5, 'restaurant rating sum') ON CONFLICT (version) DO NOTHING;
@@ -0,0 +1,4 @@
+-- Algorithm,iterations and key length of the stored password hash.The hashes made before this column have 1000 iterations and a 64 bit key.
+-- Logins rehash them with the configured scheme,so the default only describes the old rows.
+ALTER TABLE CUSTOMER ADD COLUMN IF NOT EXISTS password_scheme VARCHAR(100) NOT NULL DEFAULT 'PBKDF2WithHmacSHA512:1000:64';
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (6, 'customer password scheme') ON CONFLICT (version) DO NOTHING;
@@ -0,0 +1,11 @@
+-- Keyset pages of the restaurant listing,name search and category in each sort order.
+-- A page reads the index from the sort key of the cursor onwards,so a late page costs the same as the first one.
+-- restaurantListingByRating,restaurantSearchByRating,restaurantsOfCategoryByRating
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_rating_id_idx ON RESTAURANT(customer_rating DESC, id DESC);
+-- restaurant_rating_id_idx serves everything restaurant_rating_idx did
+DROP INDEX CONCURRENTLY IF EXISTS restaurant_rating_idx;
+-- restaurantListingByPrice,restaurantSearchByPrice,restaurantsOfCategoryByPrice
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_price_id_idx ON RESTAURANT(average_price_for_two, id);
+-- restaurantListingByName,restaurantSearchByName,restaurantsOfCategoryByName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS restaurant_name_id_idx ON RESTAURANT(lower(restaurant_name), id);
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (7, 'restaurant keyset pages') ON CONFLICT (version) DO NOTHING;
@@ -0,0 +1,25 @@
+-- The uuid columns hold the 16 byte uuid type instead of text,which makes their UNIQUE indexes less than half the size and compares them as numbers.
+-- A value which is not a uuid in the form with hyphens is replaced by the md5 of it first,so the column can be converted.
+-- The application,insert.sql and generate_data.sql only ever wrote uuids,the replaced ids are the rows written by hand.
+-- The replacement only runs before the version is recorded,converting a column which is already uuid leaves the table and its index as they are.
+UPDATE CUSTOMER SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE CATEGORY SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE COUPON SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE PAYMENT SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE STATE SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE ADDRESS SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE ITEM SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE RESTAURANT SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE ORDERS SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+UPDATE CUSTOMER_AUTH SET uuid = CAST(md5(CAST(uuid AS TEXT)) AS uuid) WHERE CAST(uuid AS TEXT) !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' AND NOT EXISTS (SELECT 1 FROM SCHEMA_VERSION WHERE version = 8);
+ALTER TABLE CUSTOMER ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE CATEGORY ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE COUPON ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE PAYMENT ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE STATE ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE ADDRESS ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE ITEM ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE RESTAURANT ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE ORDERS ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+ALTER TABLE CUSTOMER_AUTH ALTER COLUMN uuid TYPE uuid USING CAST(uuid AS uuid);
+INSERT INTO SCHEMA_VERSION(version, description) VALUES (8, 'uuid columns') ON CONFLICT (version) DO NOTHING;
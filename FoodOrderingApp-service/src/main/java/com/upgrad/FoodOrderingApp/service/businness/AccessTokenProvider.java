@@ -0,0 +1,40 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.security.SecureRandom;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+//This Class issues the access tokens signed with the server key.The sessions of the tokens are checked in customer_auth,
+//so a logout is seen by every instance sharing the DB.
+
+@Component
+public class AccessTokenProvider {
+
+    @Value("${jwt.secret:}")
+    private String secret;
+
+    @Autowired
+    private UuidGenerator uuidGenerator;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isEmpty()) {
+            //Without a configured key the tokens of each instance are signed with a random one,they are still found by their session in customer_auth.
+            byte[] key = new byte[64];
+            new SecureRandom().nextBytes(key);
+            secret = Base64.getEncoder().encodeToString(key);
+        }
+        jwtTokenProvider = new JwtTokenProvider(secret, uuidGenerator);
+    }
+
+    public String generateToken(final String customerUuid, final ZonedDateTime issuedDateTime, final ZonedDateTime expiresDateTime) {
+        return jwtTokenProvider.generateToken(customerUuid, issuedDateTime, expiresDateTime);
+    }
+}
@@ -2,6 +2,7 @@ package com.upgrad.FoodOrderingApp.service.businness;
 
 
 import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.*;
 import com.upgrad.FoodOrderingApp.service.entity.*;
 import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
@@ -28,7 +29,7 @@ public class AddressService {
     UtilityProvider utilityProvider;// It Provides Data Check methods for various cases
 
     @Autowired
-    StateDao stateDao; //Handles all data related to the StateEntity
+    ReferenceDataCache referenceDataCache; //Keeps the StateEntities in memory
 
     @Autowired
     CustomerAddressDao customerAddressDao; //Handles all Data of CustomerAddressEntity
@@ -85,8 +86,8 @@ public class AddressService {
     If error throws exception with error code and error message.
      */
     public StateEntity getStateByUUID(String uuid) throws AddressNotFoundException {
-        //Calls getStateByUuid od StateDao to get all the State details.
-        StateEntity stateEntity = stateDao.getStateByUuid(uuid);
+        //Calls getStateByUuid of referenceDataCache to get the State details without going to the DB.
+        StateEntity stateEntity = referenceDataCache.getStateByUuid(UuidParser.parse(uuid));
         if (stateEntity == null) {//Checking if its null to return error message.
             throw new AddressNotFoundException("ANF-002", "No state by this id");
         }
@@ -117,7 +118,7 @@ public class AddressService {
         }
 
         //Calls getAddressByUuid method of addressDao to get addressEntity
-        AddressEntity addressEntity = addressDao.getAddressByUuid(addressUuid);
+        AddressEntity addressEntity = addressDao.getAddressByUuid(UuidParser.parse(addressUuid));
         if (addressEntity == null) {//Checking if null throws corresponding exception.
             throw new AddressNotFoundException("ANF-003", "No address by this id");
         }
@@ -126,7 +127,7 @@ public class AddressService {
         CustomerAddressEntity customerAddressEntity = customerAddressDao.getCustomerAddressByAddress(addressEntity);
 
         //Checking if the address belong to the customer requested.If no throws corresponding exception.
-        if (customerAddressEntity.getCustomer().getUuid() == customerEntity.getUuid()) {
+        if (customerAddressEntity.getCustomer().getUuid().equals(customerEntity.getUuid())) {
             return addressEntity;
         } else {
             throw new AuthorizationFailedException("ATHR-004", "You are not authorized to view/update/delete any one else's address");
@@ -159,8 +160,8 @@ public class AddressService {
     /*This method is to getAllStates in DB.
      */
     public List<StateEntity> getAllStates() {
-        //Calls getAllStates of stateDao to get all States.
-        List<StateEntity> stateEntities = stateDao.getAllStates();
+        //Calls getAllStates of referenceDataCache to get all States.
+        List<StateEntity> stateEntities = referenceDataCache.getAllStates();
         return stateEntities;
     }
 }
\ No newline at end of file
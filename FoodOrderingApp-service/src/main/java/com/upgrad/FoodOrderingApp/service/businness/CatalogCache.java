@@ -0,0 +1,106 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantCategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+//This Class is the entry point to the second level cache of the catalog entities,whose regions are configured in ehcache.xml.
+//The hits,misses and size of each region are published as the cache.gets and cache.size metrics with the region as the cache tag.
+
+@Component
+public class CatalogCache implements MeterBinder {
+
+    //The region of the cacheable named queries.
+    public static final String QUERY_REGION = "catalog.queries";
+
+    private static final Class<?>[] CACHED_ENTITIES = {ItemEntity.class, CategoryEntity.class, CouponEntity.class, StateEntity.class, PaymentEntity.class,
+            RestaurantItemEntity.class, CategoryItemEntity.class, RestaurantCategoryEntity.class};
+
+    private static final String[] REGIONS = {"catalog.item", "catalog.category", "catalog.coupon", "catalog.state", "catalog.payment",
+            "catalog.restaurantItem", "catalog.categoryItem", "catalog.restaurantCategory", QUERY_REGION};
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private RestaurantDetailsCache restaurantDetailsCache;
+
+    @Autowired
+    private RestaurantLocationIndex restaurantLocationIndex;
+
+    //To drop all the cached catalog entities and queries,the restaurant details responses built from them and the restaurant locations,the next reads load them from the DB.
+    //Used after restaurants,items,categories,coupons,states or payment methods are changed in the DB outside this application.
+    public void evictAll() {
+        Cache cache = getSessionFactory().getCache();
+        for (Class<?> entityClass : CACHED_ENTITIES) {
+            cache.evictEntityRegion(entityClass);
+        }
+        cache.evictQueryRegion(QUERY_REGION);
+        referenceDataCache.invalidate();
+        restaurantDetailsCache.invalidateAll();
+        restaurantLocationIndex.invalidate();
+    }
+
+    //To get the hits,misses,puts and entries in memory of every region,keyed by the region name.
+    public Map<String, Map<String, Long>> getRegionStatistics() {
+        Map<String, Map<String, Long>> regionStatistics = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            Map<String, Long> statistics = new LinkedHashMap<>();
+            statistics.put("hits", getStatistic(region, SecondLevelCacheStatistics::getHitCount));
+            statistics.put("misses", getStatistic(region, SecondLevelCacheStatistics::getMissCount));
+            statistics.put("puts", getStatistic(region, SecondLevelCacheStatistics::getPutCount));
+            statistics.put("size", getStatistic(region, SecondLevelCacheStatistics::getElementCountInMemory));
+            regionStatistics.put(region, statistics);
+        }
+        return regionStatistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (String region : REGIONS) {
+            FunctionCounter.builder("cache.gets", this, catalogCache -> catalogCache.getStatistic(region, SecondLevelCacheStatistics::getHitCount))
+                    .tags("cache", region, "result", "hit")
+                    .description("Second level cache reads found in the region")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.gets", this, catalogCache -> catalogCache.getStatistic(region, SecondLevelCacheStatistics::getMissCount))
+                    .tags("cache", region, "result", "miss")
+                    .description("Second level cache reads not found in the region and loaded from the DB")
+                    .register(meterRegistry);
+            Gauge.builder("cache.size", this, catalogCache -> catalogCache.getStatistic(region, SecondLevelCacheStatistics::getElementCountInMemory))
+                    .tags("cache", region)
+                    .register(meterRegistry);
+        }
+    }
+
+    //The statistics need hibernate.generate_statistics,a region which has not been used yet has none.
+    private long getStatistic(String region, ToLongFunction<SecondLevelCacheStatistics> statistic) {
+        SecondLevelCacheStatistics statistics = getSessionFactory().getStatistics().getSecondLevelCacheStatistics(region);
+        return statistics == null ? 0 : statistic.applyAsLong(statistics);
+    }
+
+    private SessionFactory getSessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -1,6 +1,6 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
-import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantCategoryDao;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
@@ -22,12 +22,13 @@ public class CategoryService {
     RestaurantCategoryDao restaurantCategoryDao;
 
     @Autowired
-    CategoryDao categoryDao;
+    RestaurantDao restaurantDao;
 
     @Autowired
-    RestaurantDao restaurantDao;
+    ReferenceDataCache referenceDataCache;
+
     public List<CategoryEntity> getCategoriesByRestaurant(String restaurantUuid){
-        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(restaurantUuid);
+        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(UuidParser.parse(restaurantUuid));
         List<RestaurantCategoryEntity> restaurantCategoryEntities = restaurantCategoryDao.getCategoriesByRestaurant(restaurantEntity);
         List<CategoryEntity> categoryEntities = new LinkedList<>();
         restaurantCategoryEntities.forEach(restaurantCategoryEntity -> {
@@ -36,7 +37,7 @@ public class CategoryService {
         return categoryEntities;
     }
     public List<CategoryEntity> getAllCategoriesOrderedByName() {
-        List<CategoryEntity> categoryEntities = categoryDao.getAllCategoriesOrderedByName();
+        List<CategoryEntity> categoryEntities = referenceDataCache.getAllCategoriesOrderedByName();
         return categoryEntities;
     }
     public CategoryEntity getCategoryById(String categoryUuid) throws CategoryNotFoundException {
@@ -44,7 +45,7 @@ public class CategoryService {
             throw new CategoryNotFoundException("CNF-001","Category id field should not be empty");
         }
 
-        CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryUuid);
+        CategoryEntity categoryEntity = referenceDataCache.getCategoryByUuid(UuidParser.parse(categoryUuid));
 
         if(categoryEntity == null){
             throw new CategoryNotFoundException("CNF-002","No category by this id");
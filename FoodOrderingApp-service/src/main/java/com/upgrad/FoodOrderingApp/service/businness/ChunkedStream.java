@@ -0,0 +1,38 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+//This Class reads a stream of entities from the DB in chunks,so each chunk can be completed with one query,written out
+//and dropped from the persistence context before the next one is read,and a long stream is never held in memory as a whole.
+
+final class ChunkedStream {
+
+    //Entities read from the DB and handled at a time,also used as the fetch size of the stream.
+    static final int CHUNK_SIZE = 100;
+
+    private ChunkedStream() {
+    }
+
+    //To pass the stream to chunkConsumer in lists of CHUNK_SIZE entities,the last one may be shorter.The stream is closed once read.
+    static <T> void forEachChunk(Stream<T> stream, Consumer<List<T>> chunkConsumer) {
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<T> entities = stream) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    chunkConsumer.accept(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
 import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
 import com.upgrad.FoodOrderingApp.service.dao.CustomerAuthDao;
 import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
@@ -13,7 +15,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.UUID;
 
 import java.time.ZonedDateTime;
 
@@ -32,6 +33,15 @@ public class CustomerService {
     @Autowired
     PasswordCryptographyProvider passwordCryptographyProvider;
 
+    @Autowired
+    CustomerSessionCache customerSessionCache;
+
+    @Autowired
+    AccessTokenProvider accessTokenProvider;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
     @Transactional(propagation = Propagation.REQUIRED)
     public CustomerEntity saveCustomer(CustomerEntity customerEntity) throws SignUpRestrictedException {
 
@@ -62,6 +72,7 @@ public class CustomerService {
         String[] encryptedPassword = passwordCryptographyProvider.encrypt(customerEntity.getPassword());
         customerEntity.setSalt(encryptedPassword[0]);
         customerEntity.setPassword(encryptedPassword[1]);
+        customerEntity.setPasswordScheme(passwordCryptographyProvider.getPasswordHashScheme().toString());
 
         //Calls createCustomer of customerDao to create the customer.
         CustomerEntity createdCustomerEntity = customerDao.createCustomer(customerEntity);
@@ -78,11 +89,14 @@ public class CustomerService {
             throw new AuthenticationFailedException("ATH-001", "This contact number has not been registered!");
         }
 
-        //The password is encrypted using the salt stored in the retrived customer entity.
-        String encryptedPassword = passwordCryptographyProvider.encrypt(password, customerEntity.getSalt());
-        //If password is same as stored in the db the customer is authenticated to customer auth entity is created with new access token using jwtTokenProvider.
-        if (encryptedPassword.equals(customerEntity.getPassword())) {
-            JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(encryptedPassword);
+        //The password is encrypted using the salt and scheme stored in the retrived customer entity and compared with the stored one.
+        //If password is same as stored in the db the customer is authenticated to customer auth entity is created with new access token using accessTokenProvider.
+        if (passwordCryptographyProvider.matches(password, customerEntity.getSalt(), customerEntity.getPassword(), customerEntity.getPasswordScheme())) {
+            //A password hashed with an older scheme is hashed again with the current one now that the raw password is known.
+            if (passwordCryptographyProvider.needsRehash(customerEntity.getPasswordScheme())) {
+                rehashPassword(customerEntity, password);
+            }
+
             CustomerAuthEntity customerAuthEntity = new CustomerAuthEntity();
             customerAuthEntity.setCustomer(customerEntity);
 
@@ -90,10 +104,10 @@ public class CustomerService {
             final ZonedDateTime expiresAt = now.plusHours(8);
 
 
-            customerAuthEntity.setAccessToken(jwtTokenProvider.generateToken(customerEntity.getUuid(), now, expiresAt));
+            customerAuthEntity.setAccessToken(accessTokenProvider.generateToken(customerEntity.getUuid().toString(), now, expiresAt));
             customerAuthEntity.setLoginAt(now);
             customerAuthEntity.setExpiresAt(expiresAt);
-            customerAuthEntity.setUuid(UUID.randomUUID().toString());
+            customerAuthEntity.setUuid(uuidGenerator.generate());
 
             //Calls createCustomerAuth of customerAuthDao and create new CustomerAuthEntity in the DB with accessToken.
             CustomerAuthEntity createdCustomerAuthEntity = customerAuthDao.createCustomerAuth(customerAuthEntity);
@@ -106,6 +120,25 @@ public class CustomerService {
 
 
 
+    //To hash the password again with the current scheme and store it.If the hashing pool fills up between needsRehash and the hashing,
+    //the upgrade is skipped and left to a later login,the password was already checked so the login goes on.
+    private void rehashPassword(CustomerEntity customerEntity, String password) {
+        String[] encryptedPassword;
+        try {
+            encryptedPassword = passwordCryptographyProvider.encrypt(password);
+        } catch (UnexpectedException ue) {
+            if (ue.getErrorCode() != GenericErrorCode.GEN_002) {
+                throw ue;
+            }
+            return;
+        }
+        customerEntity.setSalt(encryptedPassword[0]);
+        customerEntity.setPassword(encryptedPassword[1]);
+        customerEntity.setPasswordScheme(passwordCryptographyProvider.getPasswordHashScheme().toString());
+        customerDao.updateCustomer(customerEntity);
+        customerSessionCache.invalidateCustomer(customerEntity.getUuid());
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public CustomerAuthEntity logout(String accessToken) throws AuthorizationFailedException {
         CustomerAuthEntity customerAuthEntity = customerAuthDao.getCustomerAuthByAccessToken(accessToken);
@@ -127,6 +160,9 @@ public class CustomerService {
 
         customerAuthEntity.setLogoutAt(ZonedDateTime.now());
 
+        //Removing the session from the cache so the accessToken is rejected from the next request.
+        customerSessionCache.invalidateSession(accessToken);
+
         CustomerAuthEntity upatedCustomerAuthEntity = customerAuthDao.customerLogout(customerAuthEntity);
         return upatedCustomerAuthEntity;
     }
@@ -143,6 +179,9 @@ public class CustomerService {
         //Calls updateCustomer of customerDao to update the customer data in the DB
         CustomerEntity updatedCustomer = customerDao.updateCustomer(customerEntity);
 
+        //Removing the cached sessions of the customer as they hold the old details.
+        customerSessionCache.invalidateCustomer(customerEntity.getUuid());
+
         return updatedCustomer;
     }
 
@@ -154,21 +193,22 @@ public class CustomerService {
             throw new UpdateCustomerException("UCR-001", "Weak password!");
         }
 
-        //Encrypting the oldpassword enter by user.
-        String encryptedOldPassword = passwordCryptographyProvider.encrypt(oldPassword, customerEntity.getSalt());
-
         //Checking the oldPassword is correct as stored in the DB
-        if (encryptedOldPassword.equals(customerEntity.getPassword())) {
+        if (passwordCryptographyProvider.matches(oldPassword, customerEntity.getSalt(), customerEntity.getPassword(), customerEntity.getPasswordScheme())) {
             CustomerEntity tobeUpdatedCustomerEntity = customerDao.getCustomerByUuid(customerEntity.getUuid());
 
             //Encyprting newPassword to store in the DB
             String[] encryptedPassword = passwordCryptographyProvider.encrypt(newPassword);
             tobeUpdatedCustomerEntity.setSalt(encryptedPassword[0]);
             tobeUpdatedCustomerEntity.setPassword(encryptedPassword[1]);
+            tobeUpdatedCustomerEntity.setPasswordScheme(passwordCryptographyProvider.getPasswordHashScheme().toString());
 
             //Updating the Customer with the new password adn salt.
             CustomerEntity updatedCustomerEntity = customerDao.updateCustomer(tobeUpdatedCustomerEntity);
 
+            //Removing the cached sessions of the customer as they hold the old password and salt.
+            customerSessionCache.invalidateCustomer(updatedCustomerEntity.getUuid());
+
             return updatedCustomerEntity;
 
         } else {
@@ -176,9 +216,20 @@ public class CustomerService {
         }
     }
     /* This method is to getCustomer using accessToken and return the CustomerEntity .
+    The customer of an active session is served from customerSessionCache,otherwise the session is read from customer_auth.
+    A cached session is only used if customer_auth still has it logged in,as it may have been logged out on another instance.
     If error throws exception with error code and error message.
     */
     public CustomerEntity getCustomer(String accessToken) throws AuthorizationFailedException {
+        CustomerEntity cachedCustomerEntity = customerSessionCache.getCustomer(accessToken);
+        if (cachedCustomerEntity != null) {
+            if (customerAuthDao.isLoggedIn(accessToken)) {
+                return cachedCustomerEntity;
+            }
+            customerSessionCache.invalidateSession(accessToken);
+        }
+
+        long invalidationCount = customerSessionCache.getInvalidationCount();
         CustomerAuthEntity customerAuthEntity = customerAuthDao.getCustomerAuthByAccessToken(accessToken);
 
         if (customerAuthEntity == null) {//Checking if Customer not logged In
@@ -194,6 +245,8 @@ public class CustomerService {
         if (customerAuthEntity.getExpiresAt().compareTo(now) <= 0) {//Checking accessToken is Expired.
             throw new AuthorizationFailedException("ATHR-003", "Your session is expired. Log in again to access this endpoint.");
         }
+
+        customerSessionCache.putSession(customerAuthEntity, invalidationCount);
         return customerAuthEntity.getCustomer();
     }
 
@@ -0,0 +1,189 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+//This Class keeps the customers of the active sessions in memory keyed by access token,so authorizing a request does not load the session and the customer from the DB.
+//The cache is only kept by each instance,CustomerService still checks that a cached session is not logged out in customer_auth before using it.
+//The hits,misses and size are published as the cache.gets and cache.size metrics with the cache tag customerSessions.
+
+@Component
+public class CustomerSessionCache implements MeterBinder {
+
+    //Maximum number of sessions kept,the least recently used session is dropped when it is full.
+    private static final int MAX_SESSIONS = 10000;
+
+    //A session is looked up again in the DB after this many seconds even if the token has not expired yet.
+    private static final long MAX_AGE_SECONDS = 300;
+
+    private final Map<String, CachedSession> sessions = new LinkedHashMap<String, CachedSession>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    //Counts the invalidations,a session read from the DB before an invalidation is not cached as it may be a logged out session.
+    private long invalidationCount = 0;
+
+    /* This method is to get the customer of the session with the given accessToken.
+    Returns null if the session is not cached or the cached entry is no longer valid.A copy is returned so callers can modify it.
+     */
+    public CustomerEntity getCustomer(String accessToken) {
+        CachedSession cachedSession;
+        synchronized (sessions) {
+            cachedSession = sessions.get(accessToken);
+            if (cachedSession != null && cachedSession.validUntil.compareTo(ZonedDateTime.now()) <= 0) {
+                sessions.remove(accessToken);
+                cachedSession = null;
+            }
+        }
+        if (cachedSession == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return copyOf(cachedSession.customer);
+    }
+
+    //To get the invalidation count before reading a session from the DB,it is passed back to putSession.
+    public long getInvalidationCount() {
+        synchronized (sessions) {
+            return invalidationCount;
+        }
+    }
+
+    //To cache a session that has been checked against the DB,only sessions which are logged in and not expired are cached.
+    public void putSession(CustomerAuthEntity customerAuthEntity, long readAtInvalidationCount) {
+        final ZonedDateTime now = ZonedDateTime.now();
+        if (customerAuthEntity.getLogoutAt() != null || customerAuthEntity.getExpiresAt().compareTo(now) <= 0) {
+            return;
+        }
+        ZonedDateTime validUntil = now.plusSeconds(MAX_AGE_SECONDS);
+        if (customerAuthEntity.getExpiresAt().compareTo(validUntil) < 0) {
+            validUntil = customerAuthEntity.getExpiresAt();
+        }
+        CachedSession cachedSession = new CachedSession(copyOf(customerAuthEntity.getCustomer()), validUntil);
+        synchronized (sessions) {
+            if (invalidationCount == readAtInvalidationCount) {
+                sessions.put(customerAuthEntity.getAccessToken(), cachedSession);
+            }
+        }
+    }
+
+    //To remove the session of the accessToken,used on logout.
+    public void invalidateSession(String accessToken) {
+        removeSession(accessToken);
+        //Removing it again once the transaction completes,in case a request cached the session before the logout was committed.
+        afterTransaction(() -> removeSession(accessToken));
+    }
+
+    //To remove all the sessions of the customer,used when the customer details or password are changed.
+    public void invalidateCustomer(UUID customerUuid) {
+        removeCustomerSessions(customerUuid);
+        afterTransaction(() -> removeCustomerSessions(customerUuid));
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int getSize() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", hitCount, AtomicLong::get)
+                .tags("cache", "customerSessions", "result", "hit")
+                .description("Authorized requests whose session was found in the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", missCount, AtomicLong::get)
+                .tags("cache", "customerSessions", "result", "miss")
+                .description("Authorized requests whose session was read from the DB")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, CustomerSessionCache::getSize)
+                .tags("cache", "customerSessions")
+                .register(meterRegistry);
+    }
+
+    private void removeSession(String accessToken) {
+        synchronized (sessions) {
+            invalidationCount++;
+            sessions.remove(accessToken);
+        }
+    }
+
+    private void removeCustomerSessions(UUID customerUuid) {
+        synchronized (sessions) {
+            invalidationCount++;
+            Iterator<CachedSession> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().customer.getUuid().equals(customerUuid)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static void afterTransaction(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    private static CustomerEntity copyOf(CustomerEntity customerEntity) {
+        CustomerEntity copy = new CustomerEntity();
+        copy.setId(customerEntity.getId());
+        copy.setUuid(customerEntity.getUuid());
+        copy.setFirstName(customerEntity.getFirstName());
+        copy.setLastName(customerEntity.getLastName());
+        copy.setContactNumber(customerEntity.getContactNumber());
+        copy.setEmail(customerEntity.getEmail());
+        copy.setPassword(customerEntity.getPassword());
+        copy.setSalt(customerEntity.getSalt());
+        copy.setPasswordScheme(customerEntity.getPasswordScheme());
+        return copy;
+    }
+
+    private static class CachedSession {
+
+        private final CustomerEntity customer;
+
+        private final ZonedDateTime validUntil;
+
+        private CachedSession(CustomerEntity customer, ZonedDateTime validUntil) {
+            this.customer = customer;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.*;
 import com.upgrad.FoodOrderingApp.service.entity.*;
 import com.upgrad.FoodOrderingApp.service.exception.ItemNotFoundException;
@@ -25,7 +26,7 @@ public class ItemService {
     CategoryItemDao categoryItemDao;
 
     @Autowired
-    CategoryDao categoryDao;
+    ReferenceDataCache referenceDataCache;
 
     @Autowired
     ItemService itemService;
@@ -39,26 +40,55 @@ public class ItemService {
     @Autowired
     OrderDao orderDao;
 
+    @Autowired
+    RestaurantItemCountDao restaurantItemCountDao;
+
+    //Number of items returned by getItemsByPopularity.
+    private static final int TOP_ITEMS_LIMIT = 5;
+
+    //Orders the item counts from the least to the most popular,ties broken by item name so the result is stable.
+    private static final Comparator<RestaurantItemCountEntity> ITEM_COUNT_COMPARATOR = Comparator
+            .comparing(RestaurantItemCountEntity::getOrderCount)
+            .thenComparing(restaurantItemCountEntity -> restaurantItemCountEntity.getItem().getItemName(), Comparator.reverseOrder());
+
 
     public List<ItemEntity> getItemsByCategoryAndRestaurant(String restaurantUuid, String categoryUuid) {
-        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(restaurantUuid);
-        CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryUuid);
+        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(UuidParser.parse(restaurantUuid));
+        CategoryEntity categoryEntity = referenceDataCache.getCategoryByUuid(UuidParser.parse(categoryUuid));
 
         List<RestaurantItemEntity> restaurantItemEntities = restaurantItemDao.getItemsByRestaurant(restaurantEntity);
         List<CategoryItemEntity> categoryItemEntities = categoryItemDao.getItemsByCategory(categoryEntity);
         List<ItemEntity> itemEntities = new LinkedList<>();
 
+        //Indexing the category items by id so every restaurant item is matched with a single lookup.
+        Set<Integer> categoryItemIds = new HashSet<>();
+        categoryItemEntities.forEach(categoryItemEntity -> {
+            categoryItemIds.add(categoryItemEntity.getItem().getId());
+        });
         restaurantItemEntities.forEach(restaurantItemEntity -> {
-            categoryItemEntities.forEach(categoryItemEntity -> {
-                if(restaurantItemEntity.getItem().equals(categoryItemEntity.getItem())){
-                    itemEntities.add(restaurantItemEntity.getItem());
-                }
-            });
+            if(categoryItemIds.contains(restaurantItemEntity.getItem().getId())){
+                itemEntities.add(restaurantItemEntity.getItem());
+            }
         });
 
         return itemEntities;
     }
 
+    /* This method is to get the whole menu of the restaurant.It fetches the item to category mapping of the restaurant once
+    and groups the items by category uuid,keeping the restaurant item order within each category.
+     */
+    public Map<UUID, List<ItemEntity>> getItemsByCategoryForRestaurant(RestaurantEntity restaurantEntity) {
+        Map<UUID, List<ItemEntity>> itemsByCategory = new HashMap<>();
+        List<Object[]> categoryItems = restaurantItemDao.getCategoryItemsByRestaurant(restaurantEntity);
+        if (categoryItems != null) {
+            for (Object[] categoryItem : categoryItems) {
+                List<ItemEntity> itemEntities = itemsByCategory.computeIfAbsent((UUID) categoryItem[0], categoryUuid -> new LinkedList<>());
+                itemEntities.add((ItemEntity) categoryItem[1]);
+            }
+        }
+        return itemsByCategory;
+    }
+
     public List<ItemEntity> getItemsByCategory(CategoryEntity categoryEntity) {
         List<CategoryItemEntity> categoryItemEntities = categoryItemDao.getItemsByCategory(categoryEntity);
         List<ItemEntity> itemEntities = new LinkedList<>();
@@ -70,55 +100,55 @@ public class ItemService {
     }
 
     public ItemEntity getItemByUUID(String itemUuid) throws ItemNotFoundException {
-        ItemEntity itemEntity = itemDao.getItemByUUID(itemUuid);
+        ItemEntity itemEntity = itemDao.getItemByUUID(UuidParser.parse(itemUuid));
         if(itemEntity == null){
             throw new ItemNotFoundException("INF-003","No item by this id exist");
         }
         return itemEntity;
     }
-    public List<ItemEntity> getItemsByPopularity(RestaurantEntity restaurantEntity) {
-        List <OrdersEntity> ordersEntities = orderDao.getOrdersByRestaurant(restaurantEntity);
-        List <ItemEntity> itemEntities = new LinkedList<>();
-        ordersEntities.forEach(ordersEntity -> {
-            List <OrderItemEntity> orderItemEntities = orderItemDao.getItemsByOrders(ordersEntity);
-            orderItemEntities.forEach(orderItemEntity -> {
-                itemEntities.add(orderItemEntity.getItem());
-            });
-        });
-
-        Map<String,Integer> itemCountMap = new HashMap<String,Integer>();
-        itemEntities.forEach(itemEntity -> {
-            Integer count = itemCountMap.get(itemEntity.getUuid());
-            itemCountMap.put(itemEntity.getUuid(),(count == null) ? 1 : count+1);
-        });
-
-        // Create a list from elements of itemCountMap
-        List<Map.Entry<String,Integer>> list = new LinkedList<Map.Entry<String, Integer>>(itemCountMap.entrySet());
-
-        // Sort the list
-        Collections.sort(list, new Comparator<Map.Entry<String, Integer>>() {
-            @Override
-            public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
-                return (o2.getValue().compareTo(o1.getValue()));
+    /* This method is to get the items of all the given uuids with one query,mapped by uuid.
+    If any of the uuids has no item throws exception with error code and error message.
+     */
+    public Map<UUID, ItemEntity> getItemsByUUIDs(Collection<UUID> itemUuids) throws ItemNotFoundException {
+        Map<UUID, ItemEntity> itemEntities = new HashMap<>();
+        if (itemUuids.isEmpty()) {
+            return itemEntities;
+        }
+        List<ItemEntity> foundItemEntities = itemDao.getItemsByUUIDs(itemUuids);
+        if (foundItemEntities != null) {
+            foundItemEntities.forEach(itemEntity -> itemEntities.put(itemEntity.getUuid(), itemEntity));
+        }
+        for (UUID itemUuid : itemUuids) {
+            if (!itemEntities.containsKey(itemUuid)) {
+                throw new ItemNotFoundException("INF-003","No item by this id exist");
             }
-        });
-
-        Map<String, Integer> sortedItemCountMap = new LinkedHashMap<String, Integer>();
-        for (Map.Entry<String, Integer> item : list) {
-            sortedItemCountMap.put(item.getKey(), item.getValue());
         }
-
+        return itemEntities;
+    }
+    /* This method is to get the top items of the restaurant by the number of times they were ordered.
+    The counts are kept up to date by OrderService.placeOrder,so only the restaurant's counters are read and the top items
+    are picked with a heap bounded to TOP_ITEMS_LIMIT entries.
+     */
+    public List<ItemEntity> getItemsByPopularity(RestaurantEntity restaurantEntity) {
+        List<RestaurantItemCountEntity> restaurantItemCountEntities = restaurantItemCountDao.getItemCountsByRestaurant(restaurantEntity);
         List<ItemEntity> sortedItemEntites = new LinkedList<>();
-        Integer count = 0;
-        for(Map.Entry<String,Integer> item:sortedItemCountMap.entrySet()){
-            if(count <= 5) {
-                sortedItemEntites.add(itemDao.getItemByUUID(item.getKey()));
-                count = count+1;
-            }else{
-                break;
+        if (restaurantItemCountEntities == null) {
+            return sortedItemEntites;
+        }
+
+        //Min-heap on the order count,so the least popular of the kept items is always the one dropped.
+        PriorityQueue<RestaurantItemCountEntity> topItemCounts = new PriorityQueue<>(TOP_ITEMS_LIMIT + 1, ITEM_COUNT_COMPARATOR);
+        for (RestaurantItemCountEntity restaurantItemCountEntity : restaurantItemCountEntities) {
+            topItemCounts.offer(restaurantItemCountEntity);
+            if (topItemCounts.size() > TOP_ITEMS_LIMIT) {
+                topItemCounts.poll();
             }
         }
 
+        //Polling returns the least popular first,so each item is added at the head of the list.
+        while (!topItemCounts.isEmpty()) {
+            sortedItemEntites.add(0, topItemCounts.poll().getItem());
+        }
         return sortedItemEntites;
     }
 }
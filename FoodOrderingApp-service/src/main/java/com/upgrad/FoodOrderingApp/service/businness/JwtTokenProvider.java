@@ -6,9 +6,7 @@ import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
 import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
 
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoField;
 import java.util.Date;
-import java.util.UUID;
 
 
 public class JwtTokenProvider {
@@ -16,7 +14,11 @@ public class JwtTokenProvider {
 
     private final Algorithm algorithm;
 
-    public JwtTokenProvider(final String secret) {
+    //Makes the key id of each token.
+    private final UuidGenerator uuidGenerator;
+
+    public JwtTokenProvider(final String secret, final UuidGenerator uuidGenerator) {
+        this.uuidGenerator = uuidGenerator;
         try {
             algorithm = Algorithm.HMAC512(secret);
         } catch (IllegalArgumentException e) {
@@ -26,11 +28,11 @@ public class JwtTokenProvider {
 
     public String generateToken(final String customerUuid, final ZonedDateTime issuedDateTime, final ZonedDateTime expiresDateTime) {
 
-        final Date issuedAt = new Date(issuedDateTime.getLong(ChronoField.INSTANT_SECONDS));
-        final Date expiresAt = new Date(expiresDateTime.getLong(ChronoField.INSTANT_SECONDS));
+        final Date issuedAt = Date.from(issuedDateTime.toInstant());
+        final Date expiresAt = Date.from(expiresDateTime.toInstant());
 
         return JWT.create().withIssuer(TOKEN_ISSUER) //
-                .withKeyId(UUID.randomUUID().toString())
+                .withKeyId(uuidGenerator.generate().toString())
                 .withAudience(customerUuid) //
                 .withIssuedAt(issuedAt).withExpiresAt(expiresAt).sign(algorithm);
     }
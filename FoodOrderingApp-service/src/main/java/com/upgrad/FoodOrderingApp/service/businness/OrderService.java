@@ -1,22 +1,34 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.CouponDao;
 import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderItemDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantItemCountDao;
 import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrdersEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CouponNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidCursorException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.jaxb.SpringDataJaxb;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 @Service
@@ -36,6 +48,15 @@ public class OrderService {
     @Autowired
     OrderItemDao orderItemDao;
 
+    @Autowired
+    RestaurantItemCountDao restaurantItemCountDao;
+
+    //Number of orders in a page of the order history when no page size is asked for.
+    private static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+
+    //Largest page of the order history that can be asked for.
+    private static final int MAX_ORDER_PAGE_SIZE = 50;
+
     public CouponEntity getCouponByCouponName(String couponName) throws CouponNotFoundException {
         if(couponName == null||couponName == ""){
             throw new CouponNotFoundException("CPF-002","Coupon name field should not be empty");
@@ -50,7 +71,7 @@ public class OrderService {
     }
 
     public CouponEntity getCouponByCouponId(String couponUuid) throws CouponNotFoundException {
-        CouponEntity couponEntity = couponDao.getCouponByCouponId(couponUuid);
+        CouponEntity couponEntity = couponDao.getCouponByCouponId(UuidParser.parse(couponUuid));
         if(couponEntity == null){
             throw new CouponNotFoundException("CPF-002","No coupon by this id");
         }
@@ -65,13 +86,19 @@ public class OrderService {
 
     }
 
+    /* This method is to save the order with all its order items in one transaction.
+    The order items are inserted as one JDBC batch and the order counts of the restaurant are updated with one statement.
+     */
     @Transactional(propagation = Propagation.REQUIRED)
-    public OrderItemEntity saveOrderItem (OrderItemEntity orderItemEntity){
-        OrderItemEntity savedOrderItemEntity = orderItemDao.saveOrderItem(orderItemEntity);
-        return savedOrderItemEntity;
+    public OrdersEntity placeOrder(OrdersEntity ordersEntity, List<OrderItemEntity> orderItemEntities) {
+        OrdersEntity savedOrderEntity = orderDao.saveOrder(ordersEntity);
+        orderItemEntities.forEach(orderItemEntity -> orderItemEntity.setOrder(savedOrderEntity));
+        orderItemDao.saveOrderItems(orderItemEntities);
+        restaurantItemCountDao.incrementItemCounts(savedOrderEntity);
+        return savedOrderEntity;
     }
     public List<OrdersEntity> getOrdersByCustomers(String customerUuid) {
-        CustomerEntity customerEntity = customerDao.getCustomerByUuid(customerUuid);
+        CustomerEntity customerEntity = customerDao.getCustomerByUuid(UuidParser.parse(customerUuid));
         List<OrdersEntity> ordersEntities = orderDao.getOrdersByCustomers(customerEntity);
         return ordersEntities;
     }
@@ -80,4 +107,69 @@ public class OrderService {
         List<OrderItemEntity> orderItemEntities = orderItemDao.getOrderItemsByOrder(ordersEntity);
         return orderItemEntities;
     }
+
+    /* This method is to get a page of the customer's past orders,latest first,with the order items set on each order.
+    The orders are read with their customer,address,payment,coupon and restaurant in one query and the order items of the whole page in another.
+    The cursor is the one returned by getNextOrderCursor for the previous page,if it is not valid throws exception with error code and error message.
+     */
+    public List<OrdersEntity> getOrderPageByCustomer(CustomerEntity customerEntity, String cursor, Integer pageSize) throws InvalidCursorException {
+        Timestamp afterDate = null;
+        Integer afterId = null;
+        if (cursor != null) {
+            try {
+                String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+                afterDate = Timestamp.valueOf(LocalDateTime.parse(keys[0]));
+                afterId = Integer.valueOf(keys[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidCursorException("PGN-001", "Invalid cursor");
+            }
+        }
+
+        List<OrdersEntity> ordersEntities = orderDao.getOrderPageByCustomer(customerEntity, afterDate, afterId, getOrderPageSize(pageSize));
+        setOrderItems(ordersEntities);
+        return ordersEntities;
+    }
+
+    /* This method is to pass every past order of the customer,latest first,to orderConsumer as it is read from the DB,
+    so the whole order history can be written out without holding it in memory.The orders are handled in chunks of ChunkedStream.CHUNK_SIZE,
+    the order items of a chunk are read in one query and the chunk is dropped from the persistence context once consumed.
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public void streamOrdersByCustomer(CustomerEntity customerEntity, Consumer<OrdersEntity> orderConsumer) {
+        ChunkedStream.forEachChunk(orderDao.streamOrdersByCustomer(customerEntity, ChunkedStream.CHUNK_SIZE), chunk -> {
+            setOrderItems(chunk);
+            chunk.forEach(orderConsumer);
+            orderDao.clearPersistenceContext();
+        });
+    }
+
+    //To get the cursor of the page after orderPage,null if orderPage is the last page.
+    public String getNextOrderCursor(List<OrdersEntity> orderPage, Integer pageSize) {
+        if (orderPage.size() < getOrderPageSize(pageSize)) {
+            return null;
+        }
+        OrdersEntity lastOrder = orderPage.get(orderPage.size() - 1);
+        String keys = lastOrder.getDate().toLocalDateTime().toString() + "_" + lastOrder.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //To set the order items of each order from one query for all the orders.
+    private void setOrderItems(List<OrdersEntity> ordersEntities) {
+        Map<Integer, List<OrderItemEntity>> orderItemsByOrder = new HashMap<>();
+        ordersEntities.forEach(ordersEntity -> {
+            List<OrderItemEntity> orderItems = new LinkedList<>();
+            ordersEntity.setOrderItems(orderItems);
+            orderItemsByOrder.put(ordersEntity.getId(), orderItems);
+        });
+        if (!ordersEntities.isEmpty()) {
+            orderItemDao.getOrderItemsByOrders(ordersEntities).forEach(orderItemEntity -> orderItemsByOrder.get(orderItemEntity.getOrder().getId()).add(orderItemEntity));
+        }
+    }
+
+    private int getOrderPageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            return DEFAULT_ORDER_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_ORDER_PAGE_SIZE);
+    }
 }
@@ -1,48 +1,146 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
 
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+//This Class hashes the passwords with PBKDF2 on its own bounded pool of threads,which caps how many hashes run at once.
+//The servlet thread of the request still waits for its hash,so a burst of logins is queued up to the capacity of the pool
+//and the requests beyond it are refused with GEN-002 instead of waiting.
+//New hashes use the configured PasswordHashScheme,a stored hash is checked with the scheme it was made with.
 
 @Component
 public class PasswordCryptographyProvider {
 
-    private static String SECRET_KEY_ALGORITHM = "PBKDF2WithHmacSHA512";
-    private static int HASHING_ITERATIONS = 1000;
-    private static int HASHING_KEY_LENGTH = 64;
     private final static char[] hexArray = "0123456789ABCDEF".toCharArray();
 
+    //SecureRandom is thread safe,one instance is seeded once and shared by all the salts.
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    //SecretKeyFactory is not thread safe,each hashing thread keeps its own for every algorithm.
+    private static final ThreadLocal<Map<String, SecretKeyFactory>> SECRET_KEY_FACTORIES = ThreadLocal.withInitial(HashMap::new);
+
+    private final PasswordHashScheme passwordHashScheme;
+
+    private final ThreadPoolExecutor hashingExecutor;
+
     /**
-     * This method generates Salt and hashed Password
+     * @param algorithm         PBKDF2 algorithm of the new hashes.
+     * @param hashingIterations PBKDF2 iterations of the new hashes.
+     * @param keyLength         length in bits of the new hashes.
+     * @param threads           threads of the hashing pool,0 for one per available processor.
+     * @param queueCapacity     hashes that may wait for a free thread before new ones are refused.
+     */
+    @Autowired
+    public PasswordCryptographyProvider(@Value("${password-hashing.algorithm:PBKDF2WithHmacSHA512}") String algorithm,
+                                        @Value("${password-hashing.iterations:10000}") int hashingIterations,
+                                        @Value("${password-hashing.key-length:512}") int keyLength,
+                                        @Value("${password-hashing.threads:0}") int threads,
+                                        @Value("${password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordHashScheme = new PasswordHashScheme(algorithm, hashingIterations, keyLength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    //The scheme of the new hashes,to be stored with them.
+    public PasswordHashScheme getPasswordHashScheme() {
+        return passwordHashScheme;
+    }
+
+    /**
+     * This method generates Salt and hashed Password with the current scheme
      *
      * @param password char array.
      * @return String array with [0] encoded salt [1] hashed password.
      */
     public String[] encrypt(final String password) {
         byte[] salt = generateSaltBytes();
-        byte[] hashedPassword = hashPassword(password.toCharArray(), salt);
+        byte[] hashedPassword = submit(password.toCharArray(), salt, passwordHashScheme);
         return new String[]{getBase64EncodedBytesAsString(salt), bytesToHex(hashedPassword)};
     }
 
     /**
-     * This method re-generates hashed Password from raw-password and salt.
+     * This method re-generates hashed Password from raw-password and salt with the stored scheme and compares it with the stored hash.
+     * The comparison takes the same time however many characters match.
      * This will be used during authentication.
      *
+     * @param password       raw password.
+     * @param salt           stored salt.
+     * @param hashedPassword stored hashed password.
+     * @param scheme         stored scheme,null for the hashes made before the scheme was stored.
+     * @return true if the password matches.
+     */
+    public boolean matches(final String password, final String salt, final String hashedPassword, final String scheme) {
+        byte[] hash = submit(password.toCharArray(), getBase64DecodedStringAsBytes(salt), PasswordHashScheme.parse(scheme));
+        return MessageDigest.isEqual(bytesToHex(hash).getBytes(StandardCharsets.US_ASCII), hashedPassword.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * This method tells if a stored hash should be made again with the current scheme after a successful login.
+     * While hashes are waiting for the pool the upgrade is left to a later login so that the login does not pay for two hashes under load.
+     *
+     * @param scheme stored scheme.
+     * @return true if the scheme is not the current one and the pool is idle.
+     */
+    public boolean needsRehash(final String scheme) {
+        return !passwordHashScheme.equals(PasswordHashScheme.parse(scheme)) && hashingExecutor.getQueue().isEmpty();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    /**
+     * This method runs the hashing on the hashing pool and waits for the result.
+     *
      * @param password char array.
      * @param salt     byte array.
+     * @param scheme   algorithm and cost.
      * @return byte array of hashed password.
+     * @throws UnexpectedException GEN-002 if the queue of the pool is full.
      */
-    public static String encrypt(final String password, String salt) {
-        return bytesToHex(hashPassword(password.toCharArray(), getBase64DecodedStringAsBytes(salt)));
+    private byte[] submit(final char[] password, final byte[] salt, final PasswordHashScheme scheme) {
+        Future<byte[]> hash;
+        try {
+            hash = hashingExecutor.submit(() -> hashPassword(password, salt, scheme));
+        } catch (RejectedExecutionException ree) {
+            throw new UnexpectedException(GenericErrorCode.GEN_002, ree);
+        }
+        try {
+            return hash.get();
+        } catch (InterruptedException ie) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException(GenericErrorCode.GEN_001, ie);
+        } catch (ExecutionException ee) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, ee.getCause());
+        }
     }
 
     /**
@@ -51,9 +149,8 @@ public class PasswordCryptographyProvider {
      * @return 32 bytes long array
      */
     private static byte[] generateSaltBytes() {
-        final Random random = new SecureRandom();
         byte[] saltBytes = new byte[32];
-        random.nextBytes(saltBytes);
+        SECURE_RANDOM.nextBytes(saltBytes);
         return saltBytes;
     }
 
@@ -62,20 +159,32 @@ public class PasswordCryptographyProvider {
      *
      * @param password char array.
      * @param salt     byte array.
+     * @param scheme   algorithm and cost.
      * @return byte array of hashed password.
      */
-    private static byte[] hashPassword(final char[] password, final byte[] salt) {
+    private static byte[] hashPassword(final char[] password, final byte[] salt, final PasswordHashScheme scheme) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, scheme.getIterations(), scheme.getKeyLength());
         try {
-            SecretKeyFactory skf = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
-            PBEKeySpec spec = new PBEKeySpec(password, salt, HASHING_ITERATIONS, HASHING_KEY_LENGTH);
-            SecretKey key = skf.generateSecret(spec);
+            SecretKey key = getSecretKeyFactory(scheme.getAlgorithm()).generateSecret(spec);
             byte[] res = key.getEncoded();
             return res;
         } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
             throw new RuntimeException(e);
+        } finally {
+            spec.clearPassword();
         }
     }
 
+    private static SecretKeyFactory getSecretKeyFactory(final String algorithm) throws NoSuchAlgorithmException {
+        Map<String, SecretKeyFactory> secretKeyFactories = SECRET_KEY_FACTORIES.get();
+        SecretKeyFactory secretKeyFactory = secretKeyFactories.get(algorithm);
+        if (secretKeyFactory == null) {
+            secretKeyFactory = SecretKeyFactory.getInstance(algorithm);
+            secretKeyFactories.put(algorithm, secretKeyFactory);
+        }
+        return secretKeyFactory;
+    }
+
     private static String bytesToHex(byte[] bytes) {
         char[] hexChars = new char[bytes.length * 2];
         for (int j = 0; j < bytes.length; j++) {
@@ -93,6 +202,17 @@ public class PasswordCryptographyProvider {
     private static byte[] getBase64DecodedStringAsBytes(String decode) {
         return Base64.getDecoder().decode(decode);
     }
-}
 
+    //Daemon threads named password-hashing-N so they show up clearly in thread dumps.
+    private static class HashingThreadFactory implements ThreadFactory {
 
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
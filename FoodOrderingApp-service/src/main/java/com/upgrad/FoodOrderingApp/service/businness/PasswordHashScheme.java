@@ -0,0 +1,73 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+
+import java.util.Objects;
+
+//The algorithm and cost of a password hash,stored in customer.password_scheme as algorithm:iterations:keyLength e.g. PBKDF2WithHmacSHA512:1000:64.
+
+public final class PasswordHashScheme {
+
+    private static final String SEPARATOR = ":";
+
+    //The scheme of the hashes made before password_scheme was stored.
+    public static final PasswordHashScheme LEGACY = new PasswordHashScheme("PBKDF2WithHmacSHA512", 1000, 64);
+
+    private final String algorithm;
+
+    private final int iterations;
+
+    //In bits,as PBEKeySpec takes it.
+    private final int keyLength;
+
+    public PasswordHashScheme(String algorithm, int iterations, int keyLength) {
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.keyLength = keyLength;
+    }
+
+    //To read the stored scheme,a customer without one has a LEGACY hash.
+    public static PasswordHashScheme parse(String scheme) {
+        if (scheme == null || scheme.isEmpty()) {
+            return LEGACY;
+        }
+        String[] parts = scheme.split(SEPARATOR);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid password scheme " + scheme);
+        }
+        return new PasswordHashScheme(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PasswordHashScheme)) {
+            return false;
+        }
+        PasswordHashScheme that = (PasswordHashScheme) o;
+        return iterations == that.iterations && keyLength == that.keyLength && algorithm.equals(that.algorithm);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(algorithm, iterations, keyLength);
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + SEPARATOR + iterations + SEPARATOR + keyLength;
+    }
+}
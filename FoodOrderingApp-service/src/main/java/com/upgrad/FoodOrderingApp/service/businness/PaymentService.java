@@ -1,7 +1,7 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
 
-import com.upgrad.FoodOrderingApp.service.dao.PaymentDao;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
 import com.upgrad.FoodOrderingApp.service.exception.PaymentMethodNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,18 +14,18 @@ import java.util.UUID;
 public class PaymentService {
 
     @Autowired
-    PaymentDao paymentDao;
+    ReferenceDataCache referenceDataCache;
 
 
     public PaymentEntity getPaymentByUUID(String paymentId) throws PaymentMethodNotFoundException {
-        PaymentEntity paymentEntity = paymentDao.getPaymentByUUID(paymentId);
+        PaymentEntity paymentEntity = referenceDataCache.getPaymentByUuid(UuidParser.parse(paymentId));
         if(paymentEntity == null){
             throw new PaymentMethodNotFoundException("PNF-002","No payment method found by this id");
         }
         return paymentEntity;
     }
     public List<PaymentEntity> getAllPaymentMethods() {
-        List<PaymentEntity> paymentEntities = paymentDao.getAllPaymentMethods();
+        List<PaymentEntity> paymentEntities = referenceDataCache.getAllPaymentMethods();
         return paymentEntities;
     }
 }
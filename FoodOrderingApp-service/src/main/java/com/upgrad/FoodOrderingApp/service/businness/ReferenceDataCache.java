@@ -0,0 +1,104 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
+import com.upgrad.FoodOrderingApp.service.dao.PaymentDao;
+import com.upgrad.FoodOrderingApp.service.dao.StateDao;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+//This Class keeps the states, payment methods and categories in memory.They are loaded together into a RefreshingSnapshot which is replaced as a whole on refresh.
+//The entities of a snapshot are shared by all the requests and must not be modified.
+
+@Component
+public class ReferenceDataCache {
+
+    @Autowired
+    private StateDao stateDao;
+
+    @Autowired
+    private PaymentDao paymentDao;
+
+    @Autowired
+    private CategoryDao categoryDao;
+
+    //A snapshot older than this is loaded again on the next read.
+    @Value("${reference-data.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    private final RefreshingSnapshot<Snapshot> snapshot = new RefreshingSnapshot<>(this::loadSnapshot);
+
+    public List<StateEntity> getAllStates() {
+        return getSnapshot().states;
+    }
+
+    //Returns null if there is no state by this uuid.
+    public StateEntity getStateByUuid(UUID uuid) {
+        return getSnapshot().statesByUuid.get(uuid);
+    }
+
+    public List<PaymentEntity> getAllPaymentMethods() {
+        return getSnapshot().payments;
+    }
+
+    //Returns null if there is no payment method by this uuid.
+    public PaymentEntity getPaymentByUuid(UUID uuid) {
+        return getSnapshot().paymentsByUuid.get(uuid);
+    }
+
+    public List<CategoryEntity> getAllCategoriesOrderedByName() {
+        return getSnapshot().categories;
+    }
+
+    //Returns null if there is no category by this uuid.
+    public CategoryEntity getCategoryByUuid(UUID uuid) {
+        return getSnapshot().categoriesByUuid.get(uuid);
+    }
+
+    //To drop the current snapshot,the next read loads the tables again.Used after the reference data is changed in the DB.
+    public void invalidate() {
+        snapshot.invalidate();
+    }
+
+    private Snapshot getSnapshot() {
+        return snapshot.get(refreshSeconds * 1000);
+    }
+
+    private Snapshot loadSnapshot() {
+        return new Snapshot(stateDao.getAllStates(), paymentDao.getAllPaymentMethods(), categoryDao.getAllCategoriesOrderedByName());
+    }
+
+    private static class Snapshot {
+
+        private final List<StateEntity> states;
+
+        private final Map<UUID, StateEntity> statesByUuid = new HashMap<>();
+
+        private final List<PaymentEntity> payments;
+
+        private final Map<UUID, PaymentEntity> paymentsByUuid = new HashMap<>();
+
+        private final List<CategoryEntity> categories;
+
+        private final Map<UUID, CategoryEntity> categoriesByUuid = new HashMap<>();
+
+        private Snapshot(List<StateEntity> states, List<PaymentEntity> payments, List<CategoryEntity> categories) {
+            this.states = Collections.unmodifiableList(new ArrayList<>(states));
+            this.payments = Collections.unmodifiableList(new ArrayList<>(payments));
+            this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+            this.states.forEach(stateEntity -> statesByUuid.put(stateEntity.getStateUuid(), stateEntity));
+            this.payments.forEach(paymentEntity -> paymentsByUuid.put(paymentEntity.getUuid(), paymentEntity));
+            this.categories.forEach(categoryEntity -> categoriesByUuid.put(categoryEntity.getUuid(), categoryEntity));
+        }
+    }
+}
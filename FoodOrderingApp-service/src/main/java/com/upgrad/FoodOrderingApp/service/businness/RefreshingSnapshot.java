@@ -0,0 +1,72 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+//This Class keeps a value loaded from the DB in memory and loads it again on the first read after it is older than the given age.
+//The value is replaced as a whole,so a reader always sees one complete load.Only one request loads a new value,
+//while a stale value is refreshed the other requests keep reading it,only the first load makes them wait.
+
+final class RefreshingSnapshot<T> {
+
+    private final Supplier<T> loader;
+
+    private volatile Loaded<T> loaded;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    RefreshingSnapshot(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    //To get the value,loading it if there is none or it was loaded maxAgeMillis or more ago.
+    T get(long maxAgeMillis) {
+        Loaded<T> current = loaded;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < maxAgeMillis) {
+            return current.value;
+        }
+        if (current != null) {
+            //Only the request which gets the lock refreshes a stale value,the others go on with the old one.
+            if (!loadLock.tryLock()) {
+                return current.value;
+            }
+        } else {
+            loadLock.lock();
+        }
+        try {
+            //Another request may have loaded it while this one waited for the lock.
+            Loaded<T> latest = loaded;
+            if (latest != current && latest != null) {
+                return latest.value;
+            }
+            T value = loader.get();
+            loaded = new Loaded<>(value);
+            return value;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    //Returns null if the value is not loaded,without loading it.
+    T getIfLoaded() {
+        Loaded<T> current = loaded;
+        return current == null ? null : current.value;
+    }
+
+    //To drop the value,the next read loads it again.
+    void invalidate() {
+        loaded = null;
+    }
+
+    private static class Loaded<T> {
+
+        private final T value;
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Loaded(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+//This Class keeps the serialized JSON of the restaurant details responses keyed by restaurant uuid together with their ETag,
+//so GET /restaurant/{restaurant_id} neither reads the DB nor serializes the menu again until the restaurant is invalidated.
+//The hits,misses and size are published as the cache.gets and cache.size metrics with the cache tag restaurantDetails.
+
+@Component
+public class RestaurantDetailsCache implements MeterBinder {
+
+    //Maximum number of restaurants kept,the least recently used response is dropped when it is full.
+    private static final int MAX_RESTAURANTS = 5000;
+
+    //A response is built again after this many seconds,like the catalog cache,so changes made directly in the DB show up.
+    private static final long MAX_AGE_MILLIS = 300 * 1000;
+
+    private final Map<UUID, CachedResponse> responses = new LinkedHashMap<UUID, CachedResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedResponse> eldest) {
+            return size() > MAX_RESTAURANTS;
+        }
+    };
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    //Counts the invalidations,a response built from data read before an invalidation is not cached as it may show the old rating or menu.
+    private long invalidationCount = 0;
+
+    //Returns null if the response of the restaurant is not cached or is too old,or if the restaurant id is not a uuid.
+    public CachedResponse getResponse(UUID restaurantUuid) {
+        CachedResponse cachedResponse;
+        synchronized (responses) {
+            cachedResponse = responses.get(restaurantUuid);
+            if (cachedResponse != null && System.currentTimeMillis() - cachedResponse.createdAt >= MAX_AGE_MILLIS) {
+                responses.remove(restaurantUuid);
+                cachedResponse = null;
+            }
+        }
+        if (cachedResponse == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return cachedResponse;
+    }
+
+    //To get the invalidation count before reading the restaurant from the DB,it is passed back to putResponse.
+    public long getInvalidationCount() {
+        synchronized (responses) {
+            return invalidationCount;
+        }
+    }
+
+    //To cache the serialized response of the restaurant.The response is returned with its ETag whether it could be cached or not,
+    //the response of a restaurant id which is not a uuid is never cached.
+    public CachedResponse putResponse(UUID restaurantUuid, byte[] body, long readAtInvalidationCount) {
+        CachedResponse cachedResponse = new CachedResponse(body);
+        synchronized (responses) {
+            if (restaurantUuid != null && invalidationCount == readAtInvalidationCount) {
+                responses.put(restaurantUuid, cachedResponse);
+            }
+        }
+        return cachedResponse;
+    }
+
+    //To remove the response of the restaurant,used when its rating,categories or items are changed.
+    public void invalidateRestaurant(UUID restaurantUuid) {
+        removeResponse(restaurantUuid);
+        //Removing it again once the transaction completes,in case a request cached the response before the change was committed.
+        afterTransaction(() -> removeResponse(restaurantUuid));
+    }
+
+    //To remove the responses of all the restaurants,used when the catalog cache is evicted.
+    public void invalidateAll() {
+        synchronized (responses) {
+            invalidationCount++;
+            responses.clear();
+        }
+    }
+
+    public int getSize() {
+        synchronized (responses) {
+            return responses.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", hitCount, AtomicLong::get)
+                .tags("cache", "restaurantDetails", "result", "hit")
+                .description("Restaurant details requests served from the cached response")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", missCount, AtomicLong::get)
+                .tags("cache", "restaurantDetails", "result", "miss")
+                .description("Restaurant details requests whose response was built from the DB")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, RestaurantDetailsCache::getSize)
+                .tags("cache", "restaurantDetails")
+                .register(meterRegistry);
+    }
+
+    private void removeResponse(UUID restaurantUuid) {
+        synchronized (responses) {
+            invalidationCount++;
+            responses.remove(restaurantUuid);
+        }
+    }
+
+    private static void afterTransaction(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    public static class CachedResponse {
+
+        private final byte[] body;
+
+        //A strong ETag,the hash of the exact bytes of the body.
+        private final String eTag;
+
+        private final long createdAt = System.currentTimeMillis();
+
+        private CachedResponse(byte[] body) {
+            this.body = body;
+            this.eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+
+        //The bytes are shared by all the requests and must not be modified.
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+//This Class keeps in memory the ids of the restaurants serving each pincode and each locality of a city,read from the restaurant addresses.
+//An address is served by the restaurants with the same pincode and the restaurants in the same locality of the same city.
+//Like ReferenceDataCache the index is loaded into a RefreshingSnapshot which is replaced as a whole,so restaurants added or moved in the DB show up on refresh.
+
+@Component
+public class RestaurantLocationIndex implements MeterBinder {
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    //A snapshot older than this is loaded again on the next read.
+    @Value("${reference-data.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    private final RefreshingSnapshot<Snapshot> snapshot = new RefreshingSnapshot<>(this::loadSnapshot);
+
+    //To get the ids of the restaurants serving the address,empty if there are none.
+    public Set<Integer> getRestaurantIds(AddressEntity addressEntity) {
+        Snapshot current = getSnapshot();
+        Set<Integer> restaurantIds = new LinkedHashSet<>();
+        restaurantIds.addAll(current.restaurantIdsByPincode.getOrDefault(getPincodeKey(addressEntity.getPincode()), Collections.emptyList()));
+        restaurantIds.addAll(current.restaurantIdsByLocality.getOrDefault(getLocalityKey(addressEntity.getCity(), addressEntity.getLocality()), Collections.emptyList()));
+        return restaurantIds;
+    }
+
+    //To drop the current snapshot,the next read loads the restaurant addresses again.Used after restaurants are changed in the DB.
+    public void invalidate() {
+        snapshot.invalidate();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("restaurant.location.index.keys", this, index -> index.getLoadedSize(snapshot -> snapshot.restaurantIdsByPincode))
+                .tags("key", "pincode")
+                .description("Pincodes served by at least one restaurant")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.location.index.keys", this, index -> index.getLoadedSize(snapshot -> snapshot.restaurantIdsByLocality))
+                .tags("key", "locality")
+                .description("Localities served by at least one restaurant")
+                .register(meterRegistry);
+    }
+
+    private Snapshot getSnapshot() {
+        return snapshot.get(refreshSeconds * 1000);
+    }
+
+    private Snapshot loadSnapshot() {
+        return new Snapshot(restaurantDao.getRestaurantLocations());
+    }
+
+    //The number of keys of the loaded index,0 before it is loaded.
+    private int getLoadedSize(Function<Snapshot, Map<String, List<Integer>>> keys) {
+        Snapshot loaded = snapshot.getIfLoaded();
+        return loaded == null ? 0 : keys.apply(loaded).size();
+    }
+
+    //Pincodes and localities are matched without the surrounding spaces and in any case,a missing one matches nothing.
+    private static String getPincodeKey(String pincode) {
+        return pincode == null ? null : pincode.trim();
+    }
+
+    private static String getLocalityKey(String city, String locality) {
+        if (city == null || locality == null) {
+            return null;
+        }
+        return city.trim().toLowerCase(Locale.ROOT) + "|" + locality.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Snapshot {
+
+        private final Map<String, List<Integer>> restaurantIdsByPincode = new HashMap<>();
+
+        private final Map<String, List<Integer>> restaurantIdsByLocality = new HashMap<>();
+
+        //Each row is the restaurant id,pincode,locality and city.
+        private Snapshot(List<Object[]> restaurantLocations) {
+            for (Object[] restaurantLocation : restaurantLocations) {
+                Integer restaurantId = (Integer) restaurantLocation[0];
+                String pincodeKey = getPincodeKey((String) restaurantLocation[1]);
+                String localityKey = getLocalityKey((String) restaurantLocation[3], (String) restaurantLocation[2]);
+                if (pincodeKey != null) {
+                    restaurantIdsByPincode.computeIfAbsent(pincodeKey, key -> new ArrayList<>()).add(restaurantId);
+                }
+                if (localityKey != null) {
+                    restaurantIdsByLocality.computeIfAbsent(localityKey, key -> new ArrayList<>()).add(restaurantId);
+                }
+            }
+        }
+    }
+}
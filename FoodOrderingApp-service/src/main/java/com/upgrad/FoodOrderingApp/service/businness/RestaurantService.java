@@ -1,13 +1,15 @@
 package com.upgrad.FoodOrderingApp.service.businness;
 
+import com.upgrad.FoodOrderingApp.service.common.RestaurantSortOrder;
 import com.upgrad.FoodOrderingApp.service.common.UtilityProvider;
-import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantCategoryDao;
 import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
-import com.upgrad.FoodOrderingApp.service.entity.RestaurantCategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidCursorException;
 import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,13 +17,29 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.text.DecimalFormat;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class RestaurantService {
 
+    //Maximum number of restaurants returned by the name search,the best matches come first.
+    private static final int MAX_NAME_SEARCH_RESULTS = 50;
+
+    //Page size of the restaurant lists when the request does not give one.
+    private static final int DEFAULT_RESTAURANT_PAGE_SIZE = 20;
+
+    //Largest page of the restaurant lists that can be asked for.
+    private static final int MAX_RESTAURANT_PAGE_SIZE = 50;
+
     @Autowired
     RestaurantDao restaurantDao;
 
@@ -29,49 +47,136 @@ public class RestaurantService {
     RestaurantCategoryDao restaurantCategoryDao;
 
     @Autowired
-    CategoryDao categoryDao;
+    ReferenceDataCache referenceDataCache;
 
     @Autowired
     UtilityProvider utilityProvider;
 
+    @Autowired
+    RestaurantDetailsCache restaurantDetailsCache;
+
+    @Autowired
+    RestaurantLocationIndex restaurantLocationIndex;
+
     public List<RestaurantEntity> restaurantsByRating(){
         List<RestaurantEntity> restaurantEntities = restaurantDao.restaurantsByRating();
         return restaurantEntities;
     }
 
-    public List<RestaurantEntity> restaurantsByName(String restaurantName)throws RestaurantNotFoundException {
+    /* This method is to get a page of all the restaurants in the sort order given by sortBy,rating if it is not given.
+    The restaurants come with address and state already fetched and with their category names filled in,so a page costs two queries.
+    The page starts after the sort key in the cursor so any page costs the same as the first one,even when ratings change meanwhile.
+    The cursor is the one returned by getNextRestaurantCursor for the previous page,if it or sortBy is not valid throws exception with error code and error message.
+     */
+    public List<RestaurantEntity> restaurantListing(String sortBy, String cursor, Integer pageSize) throws InvalidCursorException {
+        RestaurantSortOrder sortOrder = getSortOrder(sortBy);
+        SortKey after = getSortKey(cursor, sortOrder);
+        List<RestaurantEntity> restaurantEntities = restaurantDao.restaurantListing(sortOrder, after.value, after.id, getRestaurantPageSize(pageSize));
+        setCategoryNames(restaurantEntities);
+        return restaurantEntities;
+    }
+
+    /* This method is to pass every restaurant of the listing,best rated first,to restaurantConsumer as it is read from the DB,
+    so the whole listing can be written out without holding it in memory.The restaurants are handled in chunks of ChunkedStream.CHUNK_SIZE,
+    the category names of a chunk are read in one query and the chunk is dropped from the persistence context once consumed.
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public void streamRestaurantListing(Consumer<RestaurantEntity> restaurantConsumer) {
+        ChunkedStream.forEachChunk(restaurantDao.streamRestaurantListing(ChunkedStream.CHUNK_SIZE), chunk -> {
+            setCategoryNames(chunk);
+            chunk.forEach(restaurantConsumer);
+            restaurantDao.clearPersistenceContext();
+        });
+    }
+
+    /* This method is to search the restaurants by name.Without sortBy the best matches come first and only they are returned,
+    with sortBy the matches are paged in that order like restaurantListing.
+     */
+    public List<RestaurantEntity> restaurantsByName(String restaurantName, String sortBy, String cursor, Integer pageSize)throws RestaurantNotFoundException, InvalidCursorException {
         if(restaurantName == null || restaurantName ==""){
             throw new RestaurantNotFoundException("RNF-003","Restaurant name field should not be empty");
         }
-        List<RestaurantEntity> restaurantEntities = restaurantDao.restaurantsByName(restaurantName);
+        List<RestaurantEntity> restaurantEntities;
+        if (sortBy == null) {
+            //The ranking by relevance is a single page and has no cursor.
+            if (cursor != null) {
+                throw new InvalidCursorException("PGN-001", "Invalid cursor");
+            }
+            restaurantEntities = restaurantDao.restaurantsByName(restaurantName, MAX_NAME_SEARCH_RESULTS);
+        } else {
+            RestaurantSortOrder sortOrder = getSortOrder(sortBy);
+            SortKey after = getSortKey(cursor, sortOrder);
+            restaurantEntities = restaurantDao.restaurantsByName(restaurantName, sortOrder, after.value, after.id, getRestaurantPageSize(pageSize));
+        }
+        setCategoryNames(restaurantEntities);
         return restaurantEntities;
     }
 
-    public List<RestaurantEntity> restaurantByCategory(String categoryId) throws CategoryNotFoundException {
+    //This method is to get a page of the restaurants of the category in the sort order given by sortBy,like restaurantListing.
+    public List<RestaurantEntity> restaurantByCategory(String categoryId, String sortBy, String cursor, Integer pageSize) throws CategoryNotFoundException, InvalidCursorException {
 
         if(categoryId == null || categoryId == ""){
             throw new CategoryNotFoundException("CNF-001","Category id field should not be empty");
         }
 
 
-        CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryId);
+        CategoryEntity categoryEntity = referenceDataCache.getCategoryByUuid(UuidParser.parse(categoryId));
 
         if(categoryEntity == null){
             throw new CategoryNotFoundException("CNF-002","No category by this id");
         }
-        List<RestaurantCategoryEntity> restaurantCategoryEntities = restaurantCategoryDao.getRestaurantByCategory(categoryEntity);
-        List<RestaurantEntity> restaurantEntities = new LinkedList<>();
-        restaurantCategoryEntities.forEach(restaurantCategoryEntity -> {
-            restaurantEntities.add(restaurantCategoryEntity.getRestaurant());
-        });
+        RestaurantSortOrder sortOrder = getSortOrder(sortBy);
+        SortKey after = getSortKey(cursor, sortOrder);
+        List<RestaurantEntity> restaurantEntities = restaurantDao.restaurantsByCategory(categoryEntity, sortOrder, after.value, after.id, getRestaurantPageSize(pageSize));
+        setCategoryNames(restaurantEntities);
+        return restaurantEntities;
+    }
+
+    /* This method is to get a page of the restaurants serving the address,those with the same pincode or in the same locality of the city,
+    in the sort order given by sortBy like restaurantListing.The restaurants are looked up in restaurantLocationIndex and only they are read from the DB.
+     */
+    public List<RestaurantEntity> restaurantsByAddress(AddressEntity addressEntity, String sortBy, String cursor, Integer pageSize) throws InvalidCursorException {
+        RestaurantSortOrder sortOrder = getSortOrder(sortBy);
+        SortKey after = getSortKey(cursor, sortOrder);
+        Set<Integer> restaurantIds = restaurantLocationIndex.getRestaurantIds(addressEntity);
+        if (restaurantIds.isEmpty()) {
+            return new LinkedList<>();
+        }
+        List<RestaurantEntity> restaurantEntities = restaurantDao.restaurantsByIds(restaurantIds, sortOrder, after.value, after.id, getRestaurantPageSize(pageSize));
+        setCategoryNames(restaurantEntities);
         return restaurantEntities;
     }
+
+    /* To get the cursor of the page after restaurantPage,null if restaurantPage is the last page.
+    The cursor holds the sort order,the id and the sort value of the last restaurant,the value comes last as a name may contain _.
+     */
+    public String getNextRestaurantCursor(List<RestaurantEntity> restaurantPage, String sortBy, Integer pageSize) throws InvalidCursorException {
+        if (restaurantPage.size() < getRestaurantPageSize(pageSize)) {
+            return null;
+        }
+        RestaurantSortOrder sortOrder = getSortOrder(sortBy);
+        RestaurantEntity lastRestaurant = restaurantPage.get(restaurantPage.size() - 1);
+        String sortValue;
+        switch (sortOrder) {
+            case PRICE:
+                sortValue = lastRestaurant.getAvgPrice().toString();
+                break;
+            case NAME:
+                sortValue = lastRestaurant.getRestaurantName().toLowerCase(Locale.ROOT);
+                break;
+            default:
+                sortValue = lastRestaurant.getExactCustomerRating().toPlainString();
+        }
+        String keys = sortOrder.getValue() + "_" + lastRestaurant.getId() + "_" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
     public RestaurantEntity restaurantByUUID(String restaurantUuid)throws RestaurantNotFoundException{
         if(restaurantUuid == null||restaurantUuid == ""){
             throw new RestaurantNotFoundException("RNF-002","Restaurant id field should not be empty");
         }
 
-        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(restaurantUuid);
+        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUuid(UuidParser.parse(restaurantUuid));
 
         if (restaurantEntity == null){
             throw new RestaurantNotFoundException("RNF-001","No restaurant by this id");
@@ -82,23 +187,103 @@ public class RestaurantService {
 
     }
 
+    /* This method is to add the customer rating to the restaurant.The rating is added to the row in the DB in one statement,
+    the average is worked out from the sum of all the ratings there and rounded to one decimal.
+    The restaurantEntity is detached and then updated with the new rating and count and returned.If error throws exception with error code and error message.
+     */
     @Transactional(propagation = Propagation.REQUIRED)
-    public RestaurantEntity updateRestaurantRating(RestaurantEntity restaurantEntity, Double customerRating) throws InvalidRatingException {
+    public RestaurantEntity updateRestaurantRating(RestaurantEntity restaurantEntity, Double customerRating) throws InvalidRatingException, RestaurantNotFoundException {
         if(!utilityProvider.isValidCustomerRating(customerRating.toString())){
             throw new InvalidRatingException("IRE-001","Restaurant should be in the range of 1 to 5");
         }
-        DecimalFormat format = new DecimalFormat("##.0");
-        double restaurantRating = restaurantEntity.getCustomerRating();
-        Integer restaurantNoOfCustomerrated = restaurantEntity.getNumberCustomersRated();
-        restaurantEntity.setNumberCustomersRated(restaurantNoOfCustomerrated+1);
-        double newCustomerRating = (restaurantRating*(restaurantNoOfCustomerrated.doubleValue())+customerRating)/restaurantEntity.getNumberCustomersRated();
 
-        restaurantEntity.setCustomerRating(Double.parseDouble(format.format(newCustomerRating)));
+        Object[] updatedRating = restaurantDao.addRestaurantRating(restaurantEntity, customerRating);
+        if(updatedRating == null){
+            throw new RestaurantNotFoundException("RNF-001","No restaurant by this id");
+        }
+        restaurantEntity.setCustomerRating(((Number) updatedRating[0]).doubleValue());
+        restaurantEntity.setNumberCustomersRated(((Number) updatedRating[1]).intValue());
+        //The cached details response shows the old rating.
+        restaurantDetailsCache.invalidateRestaurant(restaurantEntity.getUuid());
+
+        return restaurantEntity;
 
-        RestaurantEntity updatedRestaurantEntity = restaurantDao.updateRestaurantRating(restaurantEntity);
+    }
 
-        return updatedRestaurantEntity;
+    //To fill the category names of all the restaurants using one query and grouping the rows by restaurant id.
+    private void setCategoryNames(List<RestaurantEntity> restaurantEntities) {
+        if (restaurantEntities == null || restaurantEntities.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<String>> categoryNamesByRestaurantId = new HashMap<>();
+        for (RestaurantEntity restaurantEntity : restaurantEntities) {
+            List<String> categoryNames = new LinkedList<>();
+            restaurantEntity.setCategoryNames(categoryNames);
+            categoryNamesByRestaurantId.put(restaurantEntity.getId(), categoryNames);
+        }
+        List<Object[]> categoryNameRows = restaurantCategoryDao.getCategoryNamesByRestaurants(restaurantEntities);
+        if (categoryNameRows != null) {
+            for (Object[] categoryNameRow : categoryNameRows) {
+                List<String> categoryNames = categoryNamesByRestaurantId.get(categoryNameRow[0]);
+                if (categoryNames != null) {
+                    categoryNames.add((String) categoryNameRow[1]);
+                }
+            }
+        }
+    }
 
+    private RestaurantSortOrder getSortOrder(String sortBy) throws InvalidCursorException {
+        if (sortBy == null) {
+            return RestaurantSortOrder.RATING;
+        }
+        RestaurantSortOrder sortOrder = RestaurantSortOrder.fromValue(sortBy);
+        if (sortOrder == null) {
+            throw new InvalidCursorException("PGN-002", "Invalid sort order");
+        }
+        return sortOrder;
     }
 
-}
\ No newline at end of file
+    //To read the sort key out of the cursor,a cursor of another sort order is not valid.Without a cursor the key is empty and the first page is read.
+    private SortKey getSortKey(String cursor, RestaurantSortOrder sortOrder) throws InvalidCursorException {
+        if (cursor == null) {
+            return new SortKey(null, null);
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_", 3);
+            if (!sortOrder.getValue().equals(keys[0])) {
+                throw new InvalidCursorException("PGN-001", "Invalid cursor");
+            }
+            Integer afterId = Integer.valueOf(keys[1]);
+            switch (sortOrder) {
+                case PRICE:
+                    return new SortKey(Integer.valueOf(keys[2]), afterId);
+                case NAME:
+                    return new SortKey(keys[2], afterId);
+                default:
+                    return new SortKey(new BigDecimal(keys[2]), afterId);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("PGN-001", "Invalid cursor");
+        }
+    }
+
+    private int getRestaurantPageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            return DEFAULT_RESTAURANT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_RESTAURANT_PAGE_SIZE);
+    }
+
+    //The sort value and id of the restaurant a page starts after.
+    private static class SortKey {
+
+        private final Object value;
+
+        private final Integer id;
+
+        private SortKey(Object value, Integer id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.upgrad.FoodOrderingApp.service.businness;
+
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+//This Class makes the uuids of the new customers,addresses,orders,sessions and access tokens.
+//The time-ordered uuids have the version 7 layout,the first 48 bits are the milliseconds since the epoch and the other 74 bits are random,
+//so the uuids made close in time are close in the unique indexes on uuid and the inserts keep going to the same few index pages.
+//The random bits come from a SecureRandom of each thread,UUID.randomUUID() shares one SecureRandom and its lock between all the threads.
+
+@Component
+public class UuidGenerator {
+
+    public static final String TIME_ORDERED = "time-ordered";
+
+    //Version 4 uuids from UUID.randomUUID() as made before,kept to compare the two.
+    public static final String RANDOM = "random";
+
+    private static final long VERSION_7 = 0x7000L;
+
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOMS = ThreadLocal.withInitial(UuidGenerator::newSecureRandom);
+
+    private final boolean timeOrdered;
+
+    /**
+     * @param type time-ordered or random.
+     */
+    @Autowired
+    public UuidGenerator(@Value("${uuid-generator.type:" + TIME_ORDERED + "}") String type) {
+        if (!TIME_ORDERED.equals(type) && !RANDOM.equals(type)) {
+            throw new IllegalArgumentException("Invalid uuid generator type " + type);
+        }
+        this.timeOrdered = TIME_ORDERED.equals(type);
+    }
+
+    public UUID generate() {
+        if (!timeOrdered) {
+            return UUID.randomUUID();
+        }
+        byte[] randomBytes = new byte[10];
+        SECURE_RANDOMS.get().nextBytes(randomBytes);
+
+        //unix_ts_ms(48) ver(4) rand_a(12)
+        long mostSigBits = System.currentTimeMillis() << 16 | VERSION_7 | (randomBytes[0] & 0x0FL) << 8 | randomBytes[1] & 0xFFL;
+        //var(2) rand_b(62)
+        long leastSigBits = 0;
+        for (int i = 2; i < randomBytes.length; i++) {
+            leastSigBits = leastSigBits << 8 | randomBytes[i] & 0xFFL;
+        }
+        leastSigBits = leastSigBits & 0x3FFFFFFFFFFFFFFFL | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    //SHA1PRNG is seeded once and then has no lock shared with the other threads,unlike the default NativePRNG.
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("SHA1PRNG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+
+import org.springframework.stereotype.Component;
+
+import static com.upgrad.FoodOrderingApp.service.common.ValidationResult.*;
+
+//This Class validates the customer input with single pass character scanners,a check allocates nothing and returns the first rule that is broken.
+
+@Component
+public class InputValidator {
+
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    private static final String CONTACT_NUMBER_PREFIX = "0/91";
+
+    private static final int CONTACT_NUMBER_LENGTH = 10;
+
+    private static final int PINCODE_LENGTH = 6;
+
+    //To validate the password,1Uppercase,1Lowercase,1Number,1SpecialCharacter out of #@$%&*!^ and atleast 8 characters without line breaks.
+    public ValidationResult validatePassword(String password) {
+        if (password == null || password.isEmpty()) {
+            return EMPTY;
+        }
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            return TOO_SHORT;
+        }
+        boolean digit = false;
+        boolean lowerCase = false;
+        boolean upperCase = false;
+        boolean specialCharacter = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (isDigit(c)) {
+                digit = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lowerCase = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                upperCase = true;
+            } else if (isSpecialCharacter(c)) {
+                specialCharacter = true;
+            } else if (isLineTerminator(c)) {
+                return INVALID_CHARACTER;
+            }
+        }
+        if (!lowerCase) {
+            return NO_LOWERCASE;
+        }
+        if (!upperCase) {
+            return NO_UPPERCASE;
+        }
+        if (!digit) {
+            return NO_DIGIT;
+        }
+        if (!specialCharacter) {
+            return NO_SPECIAL_CHARACTER;
+        }
+        return VALID;
+    }
+
+    //To validate the contact number,10 digits starting with 7,8 or 9 with an optional 0/91 in front.
+    public ValidationResult validateContactNumber(String contactNumber) {
+        if (contactNumber == null || contactNumber.isEmpty()) {
+            return EMPTY;
+        }
+        int start = contactNumber.startsWith(CONTACT_NUMBER_PREFIX) ? CONTACT_NUMBER_PREFIX.length() : 0;
+        if (contactNumber.length() - start != CONTACT_NUMBER_LENGTH) {
+            return INVALID_LENGTH;
+        }
+        for (int i = start; i < contactNumber.length(); i++) {
+            if (!isDigit(contactNumber.charAt(i))) {
+                return INVALID_CHARACTER;
+            }
+        }
+        char first = contactNumber.charAt(start);
+        if (first < '7' || first > '9') {
+            return INVALID_FORMAT;
+        }
+        return VALID;
+    }
+
+    /* To validate the email.The part before the @ has word characters, - . and + but does not end with +,
+    the part after it is two or more dot separated labels of word characters and the last label has atleast 2 characters.
+     */
+    public ValidationResult validateEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            return EMPTY;
+        }
+        int at = email.indexOf('@');
+        if (at < 1) {
+            return INVALID_FORMAT;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isWordCharacter(c) && c != '-' && c != '.' && c != '+') {
+                return INVALID_CHARACTER;
+            }
+        }
+        if (email.charAt(at - 1) == '+') {
+            return INVALID_FORMAT;
+        }
+        int dots = 0;
+        int labelLength = 0;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return INVALID_FORMAT;
+                }
+                dots++;
+                labelLength = 0;
+            } else if (isWordCharacter(c)) {
+                labelLength++;
+            } else {
+                return INVALID_CHARACTER;
+            }
+        }
+        if (dots == 0 || labelLength < 2) {
+            return INVALID_FORMAT;
+        }
+        return VALID;
+    }
+
+    //To validate the pincode,exactly 6 digits.
+    public ValidationResult validatePincode(String pincode) {
+        if (pincode == null || pincode.isEmpty()) {
+            return EMPTY;
+        }
+        if (pincode.length() != PINCODE_LENGTH) {
+            return INVALID_LENGTH;
+        }
+        for (int i = 0; i < pincode.length(); i++) {
+            if (!isDigit(pincode.charAt(i))) {
+                return INVALID_CHARACTER;
+            }
+        }
+        return VALID;
+    }
+
+    //To validate the customer rating as printed by Double.toString,1.0 to 5.0 with one decimal.
+    public ValidationResult validateCustomerRating(String customerRating) {
+        if (customerRating == null || customerRating.isEmpty()) {
+            return EMPTY;
+        }
+        if (customerRating.length() != 3 || !isDigit(customerRating.charAt(0)) || customerRating.charAt(1) != '.' || !isDigit(customerRating.charAt(2))) {
+            return INVALID_FORMAT;
+        }
+        char whole = customerRating.charAt(0);
+        if (whole < '1' || whole > '5' || (whole == '5' && customerRating.charAt(2) != '0')) {
+            return OUT_OF_RANGE;
+        }
+        return VALID;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    private static boolean isSpecialCharacter(char c) {
+        return c == '#' || c == '@' || c == '$' || c == '%' || c == '&' || c == '*' || c == '!' || c == '^';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,36 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+
+//Sort orders of the restaurant listing,name search and category pages,given by the sort_by request parameter.
+//Ties are broken by the restaurant id so every restaurant has its own place in the order and a cursor can point right after it.
+public enum RestaurantSortOrder {
+
+    RATING("rating"),
+    PRICE("price"),
+    NAME("name");
+
+    private String value;
+
+    private RestaurantSortOrder(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    //Returns null if there is no sort order by this value.
+    public static RestaurantSortOrder fromValue(String value) {
+        for (RestaurantSortOrder sortOrder : values()) {
+            if (sortOrder.value.equals(value)) {
+                return sortOrder;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -0,0 +1,27 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//This Class counts the SQL statements Hibernate prepares on the current thread,a request reads the count it ran up to find N+1 queries.
+//Hibernate creates it from the hibernate.session_factory.statement_inspector property,so the count is kept in a static ThreadLocal.
+
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    //To start counting from 0 on the current thread,called when a request starts.
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    //To get the number of statements prepared on the current thread since the last reset.
+    public static int getCount() {
+        return COUNT.get()[0];
+    }
+}
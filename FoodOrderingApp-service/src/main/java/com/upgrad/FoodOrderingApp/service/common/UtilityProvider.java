@@ -6,68 +6,35 @@ import com.upgrad.FoodOrderingApp.service.exception.AuthenticationFailedExceptio
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.SignUpRestrictedException;
 import com.upgrad.FoodOrderingApp.service.exception.UpdateCustomerException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Component
 public class UtilityProvider {
 
+    @Autowired
+    InputValidator inputValidator;
+
     //To validate the password as per given conditions,1Uppercase,1Lowercase,1Number,1SpecialCharacter and atleast 8 characters.
     public boolean isValidPassword(String password) {
-        Boolean lowerCase = false;
-        Boolean upperCase = false;
-        Boolean number = false;
-        Boolean specialCharacter = false;
-
-        if (password.length() < 8) {
-            return false;
-        }
-
-        if (password.matches("(?=.*[0-9]).*")) {
-            number = true;
-        }
-
-        if (password.matches("(?=.*[a-z]).*")) {
-            lowerCase = true;
-        }
-        if (password.matches("(?=.*[A-Z]).*")) {
-            upperCase = true;
-        }
-        if (password.matches("(?=.*[#@$%&*!^]).*")) {
-            specialCharacter = true;
-        }
-
-        if (lowerCase && upperCase) {
-            if (specialCharacter && number) {
-                return true;
-            }
-        } else {
-            return false;
-        }
-        return false;
+        return inputValidator.validatePassword(password).isValid();
     }
 
     //To validate the ContactNo
     public boolean isContactValid(String contactNumber) {
-        Pattern p = Pattern.compile("(0/91)?[7-9][0-9]{9}");
-        Matcher m = p.matcher(contactNumber);
-        return (m.find() && m.group().equals(contactNumber));
+        return inputValidator.validateContactNumber(contactNumber).isValid();
     }
 
     //To validate the email
     public boolean isEmailValid(String email) {
-        String regex = "^[\\w-_\\.+]*[\\w-_\\.]\\@([\\w]+\\.)+[\\w]+[\\w]$";
-        return email.matches(regex);
+        return inputValidator.validateEmail(email).isValid();
     }
 
     //To Validate the Pincode
     public boolean isPincodeValid(String pincode) {
-        Pattern p = Pattern.compile("\\d{6}\\b");
-        Matcher m = p.matcher(pincode);
-        return (m.find() && m.group().equals(pincode));
+        return inputValidator.validatePincode(pincode).isValid();
     }
 
     //To validate the Signuprequest
@@ -123,12 +90,7 @@ public class UtilityProvider {
 
     //To validate the Customer rating
     public boolean isValidCustomerRating(String cutomerRating) {
-        if (cutomerRating.equals("5.0")) {
-            return true;
-        }
-        Pattern p = Pattern.compile("[1-4].[0-9]");
-        Matcher m = p.matcher(cutomerRating);
-        return (m.find() && m.group().equals(cutomerRating));
+        return inputValidator.validateCustomerRating(cutomerRating).isValid();
     }
 
     //To sort the HashMap by values.
@@ -0,0 +1,35 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+
+import java.util.UUID;
+
+//This Class turns the uuids of the request paths,parameters and access tokens into the UUID of the uuid columns.
+//Only the 36 character form with hyphens is accepted as it is the only form stored before the columns were of type uuid,
+//so a value which was never an id stays not found instead of matching an id by a shorter spelling.
+
+public final class UuidParser {
+
+    private static final int UUID_LENGTH = 36;
+
+    private UuidParser() {
+    }
+
+    //Returns null if the value is not a uuid,the lookups by uuid then find nothing.
+    public static UUID parse(String value) {
+        if (value == null || value.length() != UUID_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean hyphen = i == 8 || i == 13 || i == 18 || i == 23;
+            if (hyphen ? c != '-' : !isHexDigit(c)) {
+                return null;
+            }
+        }
+        return UUID.fromString(value);
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
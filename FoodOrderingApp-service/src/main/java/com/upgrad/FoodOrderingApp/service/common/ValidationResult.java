@@ -0,0 +1,23 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+
+//Outcome of an InputValidator check,the first rule the value breaks or VALID.
+
+public enum ValidationResult {
+
+    VALID,
+    EMPTY,
+    TOO_SHORT,
+    INVALID_LENGTH,
+    INVALID_CHARACTER,
+    INVALID_FORMAT,
+    NO_DIGIT,
+    NO_LOWERCASE,
+    NO_UPPERCASE,
+    NO_SPECIAL_CHARACTER,
+    OUT_OF_RANGE;
+
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.UUID;
 
 @Repository
 public class AddressDao {
@@ -24,7 +25,7 @@ public class AddressDao {
     }
 
 
-    public AddressEntity getAddressByUuid(String uuid){
+    public AddressEntity getAddressByUuid(UUID uuid){
         try{
             AddressEntity addressEntity = entityManager.createNamedQuery("getAddressByUuid",AddressEntity.class).setParameter("uuid",uuid).getSingleResult();
             return addressEntity;
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public class CategoryDao {
@@ -15,7 +16,7 @@ public class CategoryDao {
     private EntityManager entityManager;
 
 
-    public CategoryEntity getCategoryByUuid(String uuid) {
+    public CategoryEntity getCategoryByUuid(UUID uuid) {
         try {
             CategoryEntity categoryEntity = entityManager.createNamedQuery("getCategoryByUuid",CategoryEntity.class).setParameter("uuid",uuid).getSingleResult();
             return categoryEntity;
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.UUID;
 
 @Repository
 public class CouponDao {
@@ -13,7 +14,7 @@ public class CouponDao {
     @PersistenceContext
     private EntityManager entityManager;
 
-    public CouponEntity getCouponByCouponId(String couponUuid) {
+    public CouponEntity getCouponByCouponId(UUID couponUuid) {
         try {
             CouponEntity couponEntity = entityManager.createNamedQuery("getCouponByCouponId",CouponEntity.class).setParameter("uuid",couponUuid).getSingleResult();
             return couponEntity;
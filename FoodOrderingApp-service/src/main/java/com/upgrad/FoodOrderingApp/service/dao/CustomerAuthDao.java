@@ -28,6 +28,12 @@ public class CustomerAuthDao {
         }
 
     }
+    //To check that the session of the accessToken exists and is not logged out,without loading the session and its customer.
+    public boolean isLoggedIn(String accessToken){
+        Long loggedInSessions = entityManager.createNamedQuery("countLoggedInSessionsByAccessToken",Long.class).setParameter("access_Token",accessToken).getSingleResult();
+        return loggedInSessions > 0;
+    }
+
     public CustomerAuthEntity customerLogout (CustomerAuthEntity customerAuthEntity){
         entityManager.merge(customerAuthEntity);
         return customerAuthEntity;
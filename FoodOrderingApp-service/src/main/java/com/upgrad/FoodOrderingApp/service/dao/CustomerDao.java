@@ -8,6 +8,7 @@ import javax.persistence.Entity;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.UUID;
 
 @Repository
 public class CustomerDao {
@@ -39,7 +40,7 @@ public class CustomerDao {
 
 
     //To get Customer By Uuid if no results return null
-    public CustomerEntity getCustomerByUuid (final String uuid){
+    public CustomerEntity getCustomerByUuid (final UUID uuid){
         try {
             CustomerEntity customer = entityManager.createNamedQuery("customerByUuid",CustomerEntity.class).setParameter("uuid",uuid).getSingleResult();
             return customer;
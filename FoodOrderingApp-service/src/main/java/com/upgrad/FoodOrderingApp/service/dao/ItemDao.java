@@ -7,6 +7,9 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 @Repository
 public class ItemDao {
@@ -14,7 +17,7 @@ public class ItemDao {
     @PersistenceContext
     private EntityManager entityManager;
 
-    public ItemEntity getItemByUUID(String uuid) {
+    public ItemEntity getItemByUUID(UUID uuid) {
         try {
             ItemEntity itemEntity = entityManager.createNamedQuery("getItemByUUID",ItemEntity.class).setParameter("uuid",uuid).getSingleResult();
             return itemEntity;
@@ -22,4 +25,14 @@ public class ItemDao {
             return null;
         }
     }
+
+    //To get all the items with the given uuids in one query.
+    public List<ItemEntity> getItemsByUUIDs(Collection<UUID> uuids) {
+        try {
+            List<ItemEntity> itemEntities = entityManager.createNamedQuery("getItemsByUUIDs",ItemEntity.class).setParameter("uuids",uuids).getResultList();
+            return itemEntities;
+        }catch (NoResultException nre){
+            return null;
+        }
+    }
 }
@@ -3,12 +3,17 @@ import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrdersEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public class OrderDao {
@@ -31,6 +36,32 @@ public class OrderDao {
     }
 
 
+    //To get a page of the customer's orders latest first,starting after the order at (date,id) when a cursor is given.
+    public List<OrdersEntity> getOrderPageByCustomer(CustomerEntity customerEntity, Timestamp afterDate, Integer afterId, int pageSize) {
+        TypedQuery<OrdersEntity> query;
+        if (afterDate == null) {
+            query = entityManager.createNamedQuery("getOrderPageByCustomer",OrdersEntity.class).setParameter("customer",customerEntity);
+        } else {
+            query = entityManager.createNamedQuery("getOrderPageByCustomerAfter",OrdersEntity.class).setParameter("customer",customerEntity)
+                    .setParameter("date",afterDate).setParameter("id",afterId);
+        }
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    //To stream all the customer's orders latest first like getOrderPageByCustomer,read from the DB fetchSize rows at a time on one cursor.
+    //The caller closes the stream,it can only be read within the transaction.
+    @SuppressWarnings("unchecked")
+    public Stream<OrdersEntity> streamOrdersByCustomer(CustomerEntity customerEntity, int fetchSize) {
+        TypedQuery<OrdersEntity> query = entityManager.createNamedQuery("getOrderPageByCustomer",OrdersEntity.class).setParameter("customer",customerEntity)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize).setHint(QueryHints.HINT_READONLY, true);
+        return query.unwrap(Query.class).stream();
+    }
+
+    //To detach every entity read so far,so a long stream does not keep all the rows it has read in the persistence context.
+    public void clearPersistenceContext() {
+        entityManager.clear();
+    }
+
     public List<OrdersEntity> getOrdersByRestaurant(RestaurantEntity restaurantEntity){
         try{
             List<OrdersEntity> ordersEntities = entityManager.createNamedQuery("getOrdersByRestaurant",OrdersEntity.class).setParameter("restaurant",restaurantEntity).getResultList();
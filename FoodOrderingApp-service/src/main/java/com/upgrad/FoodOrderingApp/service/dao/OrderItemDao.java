@@ -25,9 +25,21 @@ public class OrderItemDao {
         }
     }
 
-    public OrderItemEntity saveOrderItem(OrderItemEntity orderItemEntity){
-        entityManager.persist(orderItemEntity);
-        return orderItemEntity;
+    //To save all the order items and flush them,so the inserts are sent together as one JDBC batch.
+    public List<OrderItemEntity> saveOrderItems(List<OrderItemEntity> orderItemEntities){
+        orderItemEntities.forEach(orderItemEntity -> entityManager.persist(orderItemEntity));
+        entityManager.flush();
+        return orderItemEntities;
+    }
+
+    //To get the order items of all the given orders with their items in one query.
+    public List<OrderItemEntity> getOrderItemsByOrders(List<OrdersEntity> ordersEntities) {
+        try {
+            List<OrderItemEntity> orderItemEntities = entityManager.createNamedQuery("getOrderItemsByOrders",OrderItemEntity.class).setParameter("orders",ordersEntities).getResultList();
+            return orderItemEntities;
+        }catch (NoResultException nre){
+            return null;
+        }
     }
 
     public List<OrderItemEntity> getOrderItemsByOrder(OrdersEntity ordersEntity) {
@@ -18,7 +18,7 @@ public class PaymentDao {
     private EntityManager entityManager;
 
 
-    public PaymentEntity getPaymentByUUID(String paymentId) {
+    public PaymentEntity getPaymentByUUID(UUID paymentId) {
         try{
             PaymentEntity paymentEntity = entityManager.createNamedQuery("getPaymentByUUID",PaymentEntity.class).setParameter("uuid",paymentId).getSingleResult();
             return paymentEntity;
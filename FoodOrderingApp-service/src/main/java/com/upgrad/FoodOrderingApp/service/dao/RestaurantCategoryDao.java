@@ -35,4 +35,14 @@ public class RestaurantCategoryDao {
         }
     }
 
+    //To get [restaurant id, category name] rows for all the given restaurants in a single query.
+    public List<Object[]> getCategoryNamesByRestaurants(List<RestaurantEntity> restaurantEntities) {
+        try {
+            List<Object[]> categoryNames = entityManager.createNamedQuery("getCategoryNamesByRestaurants",Object[].class).setParameter("restaurants",restaurantEntities).getResultList();
+            return categoryNames;
+        }catch (NoResultException nre){
+            return null;
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,18 +1,29 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
 
+import com.upgrad.FoodOrderingApp.service.common.RestaurantSortOrder;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
-import sun.tools.jconsole.JConsole;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public class RestaurantDao {
 
+    //Above every customer rating,the ratings go from 1 to 5.
+    private static final BigDecimal MAX_RATING = BigDecimal.TEN;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -26,8 +37,54 @@ public class RestaurantDao {
         }
     }
 
+    //To get a page of all the restaurants in the sort order with their address and state fetched in the same query,
+    //starting after the restaurant with the sort key (afterValue,afterId) or from the first one when afterValue is null.
+    public List<RestaurantEntity> restaurantListing(RestaurantSortOrder sortOrder, Object afterValue, Integer afterId, int pageSize) {
+        TypedQuery<RestaurantEntity> query = createPageQuery("restaurantListing", sortOrder, afterValue, afterId);
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    //To get a page of the restaurants whose name contains restaurantName in any case,in the sort order like restaurantListing.
+    public List<RestaurantEntity> restaurantsByName(String restaurantName, RestaurantSortOrder sortOrder, Object afterValue, Integer afterId, int pageSize) {
+        TypedQuery<RestaurantEntity> query = createPageQuery("restaurantSearch", sortOrder, afterValue, afterId)
+                .setParameter("contains", "%" + getNamePattern(restaurantName.toLowerCase()) + "%");
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    //To get a page of the restaurants of the category,in the sort order like restaurantListing.
+    public List<RestaurantEntity> restaurantsByCategory(CategoryEntity categoryEntity, RestaurantSortOrder sortOrder, Object afterValue, Integer afterId, int pageSize) {
+        TypedQuery<RestaurantEntity> query = createPageQuery("restaurantsOfCategory", sortOrder, afterValue, afterId)
+                .setParameter("category", categoryEntity);
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    //To get a page of the restaurants by id,in the sort order like restaurantListing.
+    public List<RestaurantEntity> restaurantsByIds(Collection<Integer> restaurantIds, RestaurantSortOrder sortOrder, Object afterValue, Integer afterId, int pageSize) {
+        TypedQuery<RestaurantEntity> query = createPageQuery("restaurantsNear", sortOrder, afterValue, afterId)
+                .setParameter("ids", restaurantIds);
+        return query.setMaxResults(pageSize).getResultList();
+    }
+
+    //To stream all the restaurants best rated first with their address and state,read from the DB fetchSize rows at a time on one cursor.
+    //The caller closes the stream,it can only be read within the transaction.
+    @SuppressWarnings("unchecked")
+    public Stream<RestaurantEntity> streamRestaurantListing(int fetchSize) {
+        TypedQuery<RestaurantEntity> query = createPageQuery("restaurantListing", RestaurantSortOrder.RATING, null, null)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize).setHint(QueryHints.HINT_READONLY, true);
+        return query.unwrap(Query.class).stream();
+    }
+
+    //To detach every entity read so far,so a long stream does not keep all the rows it has read in the persistence context.
+    public void clearPersistenceContext() {
+        entityManager.clear();
+    }
+
+    //To get the id,pincode,locality and city of every restaurant in one query.
+    public List<Object[]> getRestaurantLocations() {
+        return entityManager.createNamedQuery("getRestaurantLocations", Object[].class).getResultList();
+    }
 
-    public RestaurantEntity getRestaurantByUuid(String uuid) {
+    public RestaurantEntity getRestaurantByUuid(UUID uuid) {
 
         try {
             RestaurantEntity restaurantEntity = entityManager.createNamedQuery("getRestaurantByUuid",RestaurantEntity.class).setParameter("uuid",uuid).getSingleResult();
@@ -37,19 +94,68 @@ public class RestaurantDao {
         }
 
     }
-    public List<RestaurantEntity> restaurantsByName(String restaurantName) {
+    /* To search the restaurants whose name contains restaurantName in any case,with address and state fetched in the same query.
+    The lowercased name is matched against the trigram index,the exact match comes first,then the names starting with it,then the closest names.
+    Only the first maxResults restaurants of the ranking are returned.
+     */
+    public List<RestaurantEntity> restaurantsByName(String restaurantName, int maxResults) {
         try {
-            String restaurantNameLow = "%"+restaurantName.toLowerCase()+"%";
-            String restaurantNameCaps = "%" + restaurantName + "%";
-            List<RestaurantEntity> restaurantEntities = entityManager.createNamedQuery("restaurantsByName", RestaurantEntity.class).setParameter("restaurant_name_caps", restaurantNameCaps).setParameter("restaurant_name_low",restaurantNameLow).getResultList();
+            String restaurantNameLow = restaurantName.toLowerCase();
+            String restaurantNamePattern = getNamePattern(restaurantNameLow);
+            List<RestaurantEntity> restaurantEntities = entityManager.createNamedQuery("restaurantsByName", RestaurantEntity.class).setParameter("restaurant_name", restaurantNameLow)
+                    .setParameter("contains", "%" + restaurantNamePattern + "%").setParameter("starts_with", restaurantNamePattern + "%").setMaxResults(maxResults).getResultList();
             return restaurantEntities;
         }catch (NoResultException nre){
             return null;
         }
 
     }
-    public RestaurantEntity updateRestaurantRating(RestaurantEntity restaurantEntity) {
-        entityManager.merge(restaurantEntity);
-        return restaurantEntity;
+
+    /* To add a customer rating to the restaurant in one UPDATE which adds to the sum and count of the ratings held in the row,
+    so concurrent ratings are applied one after the other by the DB instead of overwriting each other.
+    Returns the new customer rating and number of customers rated,or null if the restaurant does not exist.
+    The restaurantEntity is detached,so setting the returned rating on it is not flushed as an UPDATE of the whole row
+    which would write back the other columns as they were read.
+     */
+    public Object[] addRestaurantRating(RestaurantEntity restaurantEntity, Double customerRating) {
+        try {
+            Object[] updatedRating = (Object[]) entityManager.createNamedQuery("addRestaurantRating").setParameter("customer_rating",customerRating).setParameter("restaurant_id",restaurantEntity.getId()).getSingleResult();
+            if (entityManager.contains(restaurantEntity)) {
+                entityManager.detach(restaurantEntity);
+            }
+            return updatedRating;
+        }catch (NoResultException nre){
+            return null;
+        }
+    }
+
+    /* To create the named query of the page in the sort order,the query name is the prefix followed by ByRating,ByPrice or ByName.
+    The first page uses a sort key which comes before every restaurant,the highest possible rating or the lowest price or name,
+    so it runs the same query and index scan as the pages after it.Restaurant ids start from 1 so 0 is before all of them.
+     */
+    private TypedQuery<RestaurantEntity> createPageQuery(String queryPrefix, RestaurantSortOrder sortOrder, Object afterValue, Integer afterId) {
+        String querySuffix;
+        Object firstValue;
+        switch (sortOrder) {
+            case PRICE:
+                querySuffix = "ByPrice";
+                firstValue = Integer.MIN_VALUE;
+                break;
+            case NAME:
+                querySuffix = "ByName";
+                firstValue = "";
+                break;
+            default:
+                querySuffix = "ByRating";
+                firstValue = MAX_RATING;
+        }
+        return entityManager.createNamedQuery(queryPrefix + querySuffix, RestaurantEntity.class)
+                .setParameter("value", afterValue == null ? firstValue : afterValue)
+                .setParameter("id", afterValue == null ? 0 : afterId);
+    }
+
+    //To escape the LIKE wildcards in the name,the queries use ! as the escape character.
+    private static String getNamePattern(String restaurantName) {
+        return restaurantName.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.entity.OrdersEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantItemCountEntity;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.NoResultException;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+@Repository
+public class RestaurantItemCountDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //To get the order counts of all the items of the restaurant.
+    public List<RestaurantItemCountEntity> getItemCountsByRestaurant(RestaurantEntity restaurantEntity) {
+        try {
+            List<RestaurantItemCountEntity> restaurantItemCountEntities = entityManager.createNamedQuery("getItemCountsByRestaurant",RestaurantItemCountEntity.class).setParameter("restaurant",restaurantEntity).getResultList();
+            return restaurantItemCountEntities;
+        }catch (NoResultException nre){
+            return null;
+        }
+    }
+
+    //Hibernate does not know the tables a native update writes and would clear the whole second level cache after it,
+    //the update below is synchronized with restaurant_item_count so only the cached queries over that table are dropped.
+
+    //To add the order items of a saved order to the order counts of the restaurant in one statement.
+    public int incrementItemCounts(OrdersEntity ordersEntity) {
+        return entityManager.createNamedQuery("incrementItemCountsByOrder").unwrap(NativeQuery.class).addSynchronizedEntityClass(RestaurantItemCountEntity.class).setParameter("order_id",ordersEntity.getId()).executeUpdate();
+    }
+}
@@ -2,7 +2,6 @@ package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantItemEntity;
-import org.omg.IOP.ENCODING_CDR_ENCAPS;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
@@ -24,4 +23,14 @@ public class RestaurantItemDao {
             return null;
         }
     }
+
+    //To get [category uuid, item] rows for every item of the restaurant in a single query.
+    public List<Object[]> getCategoryItemsByRestaurant(RestaurantEntity restaurantEntity) {
+        try {
+            List<Object[]> categoryItems = entityManager.createNamedQuery("getCategoryItemsByRestaurant",Object[].class).setParameter("restaurant",restaurantEntity).getResultList();
+            return categoryItems;
+        }catch (NoResultException nre){
+            return null;
+        }
+    }
 }
\ No newline at end of file
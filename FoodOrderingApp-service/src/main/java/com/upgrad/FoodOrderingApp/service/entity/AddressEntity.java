@@ -10,6 +10,7 @@ import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 @Entity
 @Table (name = "address",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
@@ -25,10 +26,9 @@ public class AddressEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "flat_buil_number")
     @Size(max = 255)
@@ -62,11 +62,11 @@ public class AddressEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -121,7 +121,7 @@ public class AddressEntity implements Serializable {
     public AddressEntity(){
     }
 
-    public AddressEntity(String uuid, String flatBuilNo, String locality, String city, String pincode, StateEntity stateEntity) {
+    public AddressEntity(UUID uuid, String flatBuilNo, String locality, String city, String pincode, StateEntity stateEntity) {
         this.uuid = uuid;
         this.flatBuilNumber =flatBuilNo;
         this.locality = locality;
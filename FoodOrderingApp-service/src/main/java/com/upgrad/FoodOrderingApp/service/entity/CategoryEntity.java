@@ -1,6 +1,8 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
 
 import javax.persistence.*;
@@ -8,9 +10,11 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
 @Table(name = "category",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE,region = "catalog.category")
 @NamedQueries({
 
         @NamedQuery(name = "getCategoryByUuid",query = "SELECT c FROM CategoryEntity c WHERE c.uuid = :uuid"),
@@ -23,10 +27,9 @@ public class CategoryEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "category_name")
     @Size(max = 255)
@@ -53,11 +56,11 @@ public class CategoryEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -1,6 +1,9 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -11,9 +14,11 @@ import java.io.Serializable;
 
 @Entity
 @Table(name = "category_item")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY,region = "catalog.categoryItem")
 @NamedQueries({
 
-        @NamedQuery(name = "getItemsByCategory",query = "SELECT c FROM CategoryItemEntity c WHERE c.category = :category ORDER BY c.item.itemName ASC "),
+        @NamedQuery(name = "getItemsByCategory",query = "SELECT c FROM CategoryItemEntity c WHERE c.category = :category ORDER BY c.item.itemName ASC ",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
 })
 public class CategoryItemEntity implements Serializable {
 
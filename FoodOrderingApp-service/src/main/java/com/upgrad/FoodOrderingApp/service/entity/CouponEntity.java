@@ -1,18 +1,23 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 //This Class represents the Coupon table in the DB
 
 @Entity
 @Table(name = "coupon",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE,region = "catalog.coupon")
 @NamedQueries({
-        @NamedQuery(name = "getCouponByCouponName",query = "SELECT c FROM CouponEntity c WHERE c.couponName = :coupon_name"),
-        @NamedQuery(name = "getCouponByCouponId",query = "SELECT c FROM  CouponEntity c WHERE c.uuid = :uuid"),
+        @NamedQuery(name = "getCouponByCouponName",query = "SELECT c FROM CouponEntity c WHERE c.couponName = :coupon_name",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
+        @NamedQuery(name = "getCouponByCouponId",query = "SELECT c FROM  CouponEntity c WHERE c.uuid = :uuid",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
 })
 public class CouponEntity implements Serializable {
 
@@ -21,10 +26,9 @@ public class CouponEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "coupon_name")
     @Size(max = 255)
@@ -38,7 +42,7 @@ public class CouponEntity implements Serializable {
 
     }
 
-    public CouponEntity(String couponId, String myCoupon, int percent) {
+    public CouponEntity(UUID couponId, String myCoupon, int percent) {
         this.uuid = couponId;
         this.couponName = myCoupon;
         this.percent = percent;
@@ -52,11 +56,11 @@ public class CouponEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
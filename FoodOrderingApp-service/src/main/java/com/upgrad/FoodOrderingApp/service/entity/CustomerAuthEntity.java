@@ -11,11 +11,13 @@ import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.sql.Time;
 import java.time.ZonedDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "customer_auth",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
 @NamedQueries({
         @NamedQuery(name = "getCustomerAuthByAccessToken", query = "SELECT c from CustomerAuthEntity c where c.accessToken = :access_Token"),
+        @NamedQuery(name = "countLoggedInSessionsByAccessToken", query = "SELECT COUNT(c) from CustomerAuthEntity c where c.accessToken = :access_Token and c.logoutAt IS NULL"),
 })
 public class CustomerAuthEntity implements Serializable {
 
@@ -24,10 +26,9 @@ public class CustomerAuthEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size (max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @ManyToOne()
     @JoinColumn(name = "customer_id")
@@ -56,11 +57,11 @@ public class CustomerAuthEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -4,6 +4,7 @@ import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 
 
@@ -22,10 +23,9 @@ public class CustomerEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "firstname")
     @Size(max = 30)
@@ -55,6 +55,12 @@ public class CustomerEntity implements Serializable {
     @NotNull
     private String salt;
 
+    //Algorithm,iterations and key length the password was hashed with,see PasswordHashScheme.
+    @Column(name = "password_scheme")
+    @Size(max = 100)
+    @NotNull
+    private String passwordScheme;
+
     public Integer getId() {
         return id;
     }
@@ -63,11 +69,11 @@ public class CustomerEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -119,5 +125,13 @@ public class CustomerEntity implements Serializable {
         this.salt = salt;
     }
 
+    public String getPasswordScheme() {
+        return passwordScheme;
+    }
+
+    public void setPasswordScheme(String passwordScheme) {
+        this.passwordScheme = passwordScheme;
+    }
+
 
 }
\ No newline at end of file
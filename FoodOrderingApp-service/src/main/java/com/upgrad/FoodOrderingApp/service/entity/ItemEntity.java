@@ -1,6 +1,8 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.upgrad.FoodOrderingApp.service.common.ItemType;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
@@ -12,13 +14,16 @@ import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 //This Class represents the ItemEntity table in the DB
 
 @Entity
 @Table(name = "item",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE,region = "catalog.item")
 @NamedQueries({
-        @NamedQuery(name = "getItemByUUID",query = "SELECT i FROM ItemEntity i WHERE i.uuid = :uuid"),
+        @NamedQuery(name = "getItemByUUID",query = "SELECT i FROM ItemEntity i WHERE i.uuid = :uuid",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
+        @NamedQuery(name = "getItemsByUUIDs",query = "SELECT i FROM ItemEntity i WHERE i.uuid IN :uuids"),
 })
 public class ItemEntity implements Serializable {
 
@@ -35,10 +40,9 @@ public class ItemEntity implements Serializable {
     private ItemType type;
 
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "item_name")
     @Size(max = 30)
@@ -68,11 +72,11 @@ public class ItemEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
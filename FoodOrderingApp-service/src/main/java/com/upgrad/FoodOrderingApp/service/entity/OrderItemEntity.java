@@ -14,13 +14,16 @@ import java.io.Serializable;
 @Table(name = "order_item")
 @NamedQueries({
         @NamedQuery(name = "getItemsByOrders",query = "SELECT o FROM OrderItemEntity o WHERE o.order = :ordersEntities"),
+        @NamedQuery(name = "getOrderItemsByOrders",query = "SELECT o FROM OrderItemEntity o JOIN FETCH o.item WHERE o.order IN :orders ORDER BY o.id ASC"),
 })
 public class OrderItemEntity implements Serializable {
 
 
+    //Ids are taken from the sequence in blocks of 50 so the order items of an order can be inserted in one JDBC batch.
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(name = "orderItemIdGenerator",sequenceName = "order_item_id_seq",allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "orderItemIdGenerator")
     private Integer id;
 
     @ManyToOne(fetch = FetchType.EAGER)
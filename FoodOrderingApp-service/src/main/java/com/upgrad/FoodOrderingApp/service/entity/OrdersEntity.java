@@ -3,18 +3,23 @@ package com.upgrad.FoodOrderingApp.service.entity;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.sql.Timestamp;
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 //This Class represents the Orders table in the DB
 
 @Entity
 @Table(name = "orders",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
 @NamedQueries({
-        @NamedQuery(name = "getOrdersByRestaurant",query = "SELECT o FROM OrdersEntity o WHERE o.restaurant = :restaurant")
+        @NamedQuery(name = "getOrdersByRestaurant",query = "SELECT o FROM OrdersEntity o WHERE o.restaurant = :restaurant"),
+        @NamedQuery(name = "getOrderPageByCustomer",query = "SELECT o FROM OrdersEntity o JOIN FETCH o.customer JOIN FETCH o.address a LEFT JOIN FETCH a.state LEFT JOIN FETCH o.payment LEFT JOIN FETCH o.coupon JOIN FETCH o.restaurant r JOIN FETCH r.address ra LEFT JOIN FETCH ra.state " +
+                "WHERE o.customer = :customer ORDER BY o.date DESC, o.id DESC"),
+        @NamedQuery(name = "getOrderPageByCustomerAfter",query = "SELECT o FROM OrdersEntity o JOIN FETCH o.customer JOIN FETCH o.address a LEFT JOIN FETCH a.state LEFT JOIN FETCH o.payment LEFT JOIN FETCH o.coupon JOIN FETCH o.restaurant r JOIN FETCH r.address ra LEFT JOIN FETCH ra.state " +
+                "WHERE o.customer = :customer AND (o.date < :date OR (o.date = :date AND o.id < :id)) ORDER BY o.date DESC, o.id DESC"),
 })
 public class OrdersEntity implements Serializable {
 
@@ -24,10 +29,9 @@ public class OrdersEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
 
     @Column(name = "bill")
@@ -64,11 +68,15 @@ public class OrdersEntity implements Serializable {
     @NotNull
     private RestaurantEntity restaurant;
 
+    //Items of the order,only set when the orders are loaded as a page of the order history.
+    @Transient
+    private List<OrderItemEntity> orderItems;
+
     public OrdersEntity() {
 
     }
 
-    public OrdersEntity(String uuid, Double bill, CouponEntity couponEntity, Double discount, Timestamp orderDate, PaymentEntity paymentEntity, CustomerEntity customerEntity, AddressEntity addressEntity, RestaurantEntity restaurantEntity) {
+    public OrdersEntity(UUID uuid, Double bill, CouponEntity couponEntity, Double discount, Timestamp orderDate, PaymentEntity paymentEntity, CustomerEntity customerEntity, AddressEntity addressEntity, RestaurantEntity restaurantEntity) {
         this.uuid = uuid;
         this.bill = bill;
         this.coupon = couponEntity;
@@ -90,11 +98,11 @@ public class OrdersEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -162,4 +170,12 @@ public class OrdersEntity implements Serializable {
     public void setDate(Timestamp timestamp) {
         this.date=timestamp;
     }
+
+    public List<OrderItemEntity> getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(List<OrderItemEntity> orderItems) {
+        this.orderItems = orderItems;
+    }
 }
\ No newline at end of file
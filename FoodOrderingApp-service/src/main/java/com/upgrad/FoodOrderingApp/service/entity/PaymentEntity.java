@@ -1,15 +1,22 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 //This Class represents the Payment table in the DB
 
 @Entity
 @Table(name = "payment",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY,region = "catalog.payment")
 @NamedQueries({
         @NamedQuery(name = "getPaymentByUUID",query = "SELECT p FROM PaymentEntity p WHERE p.uuid = :uuid"),
         @NamedQuery(name = "getAllPaymentMethods",query = "SELECT p FROM PaymentEntity p")
@@ -22,10 +29,9 @@ public class PaymentEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "payment_name")
     @Size(max = 255)
@@ -35,7 +41,7 @@ public class PaymentEntity implements Serializable {
 
     }
 
-    public PaymentEntity(String uuid, String paymentName) {
+    public PaymentEntity(UUID uuid, String paymentName) {
         this.uuid = uuid;
         this.paymentName = paymentName;
     }
@@ -48,11 +54,11 @@ public class PaymentEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -1,5 +1,8 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -13,9 +16,12 @@ import java.util.AbstractCollection;
 
 @Entity
 @Table(name = "restaurant_category")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY,region = "catalog.restaurantCategory")
 @NamedQueries({
-        @NamedQuery(name = "getCategoriesByRestaurant",query = "SELECT r FROM RestaurantCategoryEntity r WHERE r.restaurant= :restaurant ORDER BY r.category.categoryName ASC "),
+        @NamedQuery(name = "getCategoriesByRestaurant",query = "SELECT r FROM RestaurantCategoryEntity r WHERE r.restaurant= :restaurant ORDER BY r.category.categoryName ASC ",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
         @NamedQuery(name = "getRestaurantByCategory",query = "SELECT r FROM RestaurantCategoryEntity r WHERE r.category = :category ORDER BY r.restaurant.customerRating DESC "),
+        @NamedQuery(name = "getCategoryNamesByRestaurants",query = "SELECT r.restaurant.id, c.categoryName FROM RestaurantCategoryEntity r JOIN r.category c WHERE r.restaurant IN :restaurants ORDER BY c.categoryName ASC ",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
       })
 public class RestaurantCategoryEntity implements Serializable {
 
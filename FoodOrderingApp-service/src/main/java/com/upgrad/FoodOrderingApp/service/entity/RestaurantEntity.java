@@ -8,6 +8,8 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
 
 //This Class represents the Restaurant table in the DB
 
@@ -16,8 +18,44 @@ import java.math.BigDecimal;
 @NamedQueries({
 
         @NamedQuery(name = "restaurantsByRating",query = "SELECT r FROM RestaurantEntity r ORDER BY r.customerRating DESC"),
+        //The pages of the restaurant listing,the name search and a category in each sort order.Each page starts right after the restaurant with the sort key (:value,:id),
+        //the row comparison lets the DB start the index scan there instead of skipping the earlier pages.The first page passes a key before every restaurant.
+        @NamedQuery(name = "restaurantListingByRating",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE (r.exactCustomerRating, r.id) < (:value, :id) ORDER BY r.exactCustomerRating DESC, r.id DESC"),
+        @NamedQuery(name = "restaurantListingByPrice",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE (r.avgPrice, r.id) > (:value, :id) ORDER BY r.avgPrice, r.id"),
+        @NamedQuery(name = "restaurantListingByName",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE (LOWER(r.restaurantName), r.id) > (:value, :id) ORDER BY LOWER(r.restaurantName), r.id"),
+        @NamedQuery(name = "restaurantSearchByRating",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE LOWER(r.restaurantName) LIKE :contains ESCAPE '!' " +
+                "AND (r.exactCustomerRating, r.id) < (:value, :id) ORDER BY r.exactCustomerRating DESC, r.id DESC"),
+        @NamedQuery(name = "restaurantSearchByPrice",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE LOWER(r.restaurantName) LIKE :contains ESCAPE '!' " +
+                "AND (r.avgPrice, r.id) > (:value, :id) ORDER BY r.avgPrice, r.id"),
+        @NamedQuery(name = "restaurantSearchByName",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE LOWER(r.restaurantName) LIKE :contains ESCAPE '!' " +
+                "AND (LOWER(r.restaurantName), r.id) > (:value, :id) ORDER BY LOWER(r.restaurantName), r.id"),
+        @NamedQuery(name = "restaurantsOfCategoryByRating",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE r.id IN (SELECT rc.restaurant.id FROM RestaurantCategoryEntity rc WHERE rc.category = :category) " +
+                "AND (r.exactCustomerRating, r.id) < (:value, :id) ORDER BY r.exactCustomerRating DESC, r.id DESC"),
+        @NamedQuery(name = "restaurantsOfCategoryByPrice",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE r.id IN (SELECT rc.restaurant.id FROM RestaurantCategoryEntity rc WHERE rc.category = :category) " +
+                "AND (r.avgPrice, r.id) > (:value, :id) ORDER BY r.avgPrice, r.id"),
+        @NamedQuery(name = "restaurantsOfCategoryByName",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state " +
+                "WHERE r.id IN (SELECT rc.restaurant.id FROM RestaurantCategoryEntity rc WHERE rc.category = :category) " +
+                "AND (LOWER(r.restaurantName), r.id) > (:value, :id) ORDER BY LOWER(r.restaurantName), r.id"),
+        @NamedQuery(name = "restaurantsNearByRating",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE r.id IN :ids " +
+                "AND (r.exactCustomerRating, r.id) < (:value, :id) ORDER BY r.exactCustomerRating DESC, r.id DESC"),
+        @NamedQuery(name = "restaurantsNearByPrice",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE r.id IN :ids " +
+                "AND (r.avgPrice, r.id) > (:value, :id) ORDER BY r.avgPrice, r.id"),
+        @NamedQuery(name = "restaurantsNearByName",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE r.id IN :ids " +
+                "AND (LOWER(r.restaurantName), r.id) > (:value, :id) ORDER BY LOWER(r.restaurantName), r.id"),
+        @NamedQuery(name = "getRestaurantLocations",query = "SELECT r.id, a.pincode, a.locality, a.city FROM RestaurantEntity r JOIN r.address a"),
         @NamedQuery(name = "getRestaurantByUuid",query = "SELECT r FROM RestaurantEntity r WHERE r.uuid = :uuid"),
-        @NamedQuery(name = "restaurantsByName",query = "SELECT r FROM  RestaurantEntity r WHERE r.restaurantName LIKE :restaurant_name_caps OR r.restaurantName LIKE :restaurant_name_low"),
+        @NamedQuery(name = "restaurantsByName",query = "SELECT r FROM RestaurantEntity r JOIN FETCH r.address a JOIN FETCH a.state WHERE LOWER(r.restaurantName) LIKE :contains ESCAPE '!' " +
+                "ORDER BY CASE WHEN LOWER(r.restaurantName) = :restaurant_name THEN 0 WHEN LOWER(r.restaurantName) LIKE :starts_with ESCAPE '!' THEN 1 ELSE 2 END, " +
+                "FUNCTION('similarity', LOWER(r.restaurantName), :restaurant_name) DESC, r.customerRating DESC"),
+})
+@NamedNativeQueries({
+        @NamedNativeQuery(name = "addRestaurantRating",query = "UPDATE restaurant SET rating_sum = rating_sum + CAST(:customer_rating AS DECIMAL), number_of_customers_rated = number_of_customers_rated + 1, " +
+                "customer_rating = ROUND((rating_sum + CAST(:customer_rating AS DECIMAL)) / (number_of_customers_rated + 1), 1) WHERE id = :restaurant_id RETURNING customer_rating, number_of_customers_rated"),
 })
 public class RestaurantEntity implements Serializable {
 
@@ -27,10 +65,9 @@ public class RestaurantEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "restaurant_name")
     @Size(max = 50)
@@ -45,6 +82,10 @@ public class RestaurantEntity implements Serializable {
     @NotNull
     private double customerRating;
 
+    //The same column with its exact DECIMAL value,the rating sort compares it with the cursor so the rating index is used and no rating is lost to rounding.
+    @Column(name = "customer_rating",insertable = false,updatable = false)
+    private BigDecimal exactCustomerRating;
+
     @Column(name = "average_price_for_two")
     @NotNull
     private Integer avgPrice;
@@ -58,6 +99,10 @@ public class RestaurantEntity implements Serializable {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private AddressEntity address;
 
+    //Category names of the restaurant, filled only by the listing projection.
+    @Transient
+    private List<String> categoryNames;
+
     public Integer getId() {
         return id;
     }
@@ -66,11 +111,11 @@ public class RestaurantEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -98,6 +143,10 @@ public class RestaurantEntity implements Serializable {
         this.customerRating = customerRating;
     }
 
+    public BigDecimal getExactCustomerRating() {
+        return exactCustomerRating;
+    }
+
     public Integer getAvgPrice() {
         return avgPrice;
     }
@@ -121,4 +170,12 @@ public class RestaurantEntity implements Serializable {
     public void setAddress(AddressEntity address) {
         this.address = address;
     }
+
+    public List<String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    public void setCategoryNames(List<String> categoryNames) {
+        this.categoryNames = categoryNames;
+    }
 }
\ No newline at end of file
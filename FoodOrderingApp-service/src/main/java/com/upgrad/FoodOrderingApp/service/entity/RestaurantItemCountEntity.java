@@ -0,0 +1,78 @@
+package com.upgrad.FoodOrderingApp.service.entity;
+
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+//This Class represents the RestaurantItemCount table in the DB.It keeps how many times each item of a restaurant has been ordered.
+
+@Entity
+@Table(name = "restaurant_item_count",uniqueConstraints = {@UniqueConstraint(columnNames = {"restaurant_id","item_id"})})
+@NamedQueries({
+        @NamedQuery(name = "getItemCountsByRestaurant",query = "SELECT r FROM RestaurantItemCountEntity r JOIN FETCH r.item WHERE r.restaurant = :restaurant"),
+})
+@NamedNativeQueries({
+        @NamedNativeQuery(name = "incrementItemCountsByOrder",query = "INSERT INTO restaurant_item_count(restaurant_id, item_id, order_count) " +
+                "SELECT o.restaurant_id, oi.item_id, COUNT(*) FROM order_item oi JOIN orders o ON o.id = oi.order_id WHERE oi.order_id = :order_id GROUP BY o.restaurant_id, oi.item_id " +
+                "ON CONFLICT (restaurant_id, item_id) DO UPDATE SET order_count = restaurant_item_count.order_count + EXCLUDED.order_count"),
+})
+public class RestaurantItemCountEntity implements Serializable {
+
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull
+    private RestaurantEntity restaurant;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "item_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @NotNull
+    private ItemEntity item;
+
+    @Column(name = "order_count")
+    @NotNull
+    private Integer orderCount;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public RestaurantEntity getRestaurant() {
+        return restaurant;
+    }
+
+    public void setRestaurant(RestaurantEntity restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    public ItemEntity getItem() {
+        return item;
+    }
+
+    public void setItem(ItemEntity item) {
+        this.item = item;
+    }
+
+    public Integer getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Integer orderCount) {
+        this.orderCount = orderCount;
+    }
+}
@@ -1,7 +1,10 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -14,8 +17,11 @@ import java.io.Serializable;
 
 @Entity
 @Table(name = "restaurant_item")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY,region = "catalog.restaurantItem")
 @NamedQueries({
-        @NamedQuery(name = "getItemsByRestaurant",query = "SELECT r FROM RestaurantItemEntity r WHERE r.restaurant = :restaurant ORDER BY LOWER(r.item.itemName) ASC "),
+        @NamedQuery(name = "getItemsByRestaurant",query = "SELECT r FROM RestaurantItemEntity r WHERE r.restaurant = :restaurant ORDER BY LOWER(r.item.itemName) ASC ",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
+        @NamedQuery(name = "getCategoryItemsByRestaurant",query = "SELECT c.category.uuid, r.item FROM RestaurantItemEntity r, CategoryItemEntity c WHERE r.restaurant = :restaurant AND c.item = r.item ORDER BY LOWER(r.item.itemName) ASC ",hints = {@QueryHint(name = "org.hibernate.cacheable",value = "true"),@QueryHint(name = "org.hibernate.cacheRegion",value = "catalog.queries")}),
 })
 public class RestaurantItemEntity implements Serializable {
 
@@ -1,16 +1,22 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 //This Class represents the StateEntity table in the DB.
 
 @Entity
 @Table(name = "state",uniqueConstraints = {@UniqueConstraint(columnNames = {"uuid"})})
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY,region = "catalog.state")
 @NamedQueries({
 
         @NamedQuery(name = "getStateByUuid", query = "SELECT s from StateEntity s where s.stateUuid = :uuid"),
@@ -24,17 +30,16 @@ public class StateEntity implements Serializable {
     private Integer id;
 
 
-    @Column(name = "uuid")
-    @Size(max = 200)
+    @Column(name = "uuid", columnDefinition = "uuid")
     @NotNull
-    private String stateUuid;
+    private UUID stateUuid;
 
 
     @Column(name = "state_name")
     @Size(max = 30)
     private String stateName;
 
-    public StateEntity(String stateUuid, String stateName) {
+    public StateEntity(UUID stateUuid, String stateName) {
         this.stateUuid = stateUuid;
         this.stateName = stateName;
         return;
@@ -52,11 +57,11 @@ public class StateEntity implements Serializable {
         this.id = id;
     }
 
-    public String getStateUuid() {
+    public UUID getStateUuid() {
         return stateUuid;
     }
 
-    public void setStateUuid(String stateUuid) {
+    public void setStateUuid(UUID stateUuid) {
         this.stateUuid = stateUuid;
     }
 
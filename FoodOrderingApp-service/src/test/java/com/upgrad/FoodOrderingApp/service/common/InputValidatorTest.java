@@ -0,0 +1,120 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+// This class checks that each InputValidator scanner accepts exactly the inputs the regex checks of UtilityProvider accepted before it,
+// on valid,invalid and boundary inputs of every field.The one intended difference is left out,the old rating pattern had an unescaped '.'
+// and took any character between the digits,the scanner only takes '.' as Double.toString never prints anything else there.
+@RunWith(Parameterized.class)
+public class InputValidatorTest {
+
+    private static final InputValidator INPUT_VALIDATOR = new InputValidator();
+
+    private final Field field;
+
+    private final String input;
+
+    public InputValidatorTest(final Field field, final String input) {
+        this.field = field;
+        this.input = input;
+    }
+
+    @Parameters(name = "{0} [{1}]")
+    public static Collection<Object[]> inputs() {
+        final List<Object[]> inputs = new ArrayList<>();
+        add(inputs, Field.PASSWORD, "", "Aa1#bcd", "Aa1#bcde", "Aa1#bcdefg", "Aa1#bcdefgh", "Secret#Pass1",
+                "aa1#bcde", "AA1#BCDE", "Aab#bcde", "Aa1bcdefg", "Aa1?bcdefg", "Aa1# bcde", "Aa1#bcd\u00e9", "#@$%&*!^Aa1",
+                "Aa1#bc\nde", "Aa1#bcde\r", "Aa1#bc\u2028de", "Aa1#bc de", "12345678", "abcdefgh");
+        add(inputs, Field.CONTACT_NUMBER, "", "9876543", "98765432", "987654321", "9876543210", "98765432101",
+                "7000000000", "8999999999", "6876543210", "0876543210", "98765a3210", " 9876543210", "9876543210 ",
+                "0/919876543210", "0/91987654321", "0/9198765432101", "0/916876543210", "0/91", "+919876543210", "09876543210");
+        add(inputs, Field.EMAIL, "", "a@b.co", "first.last+tag@mail.example.com", "a-b_c.d@mail.example.com", "a@b.c",
+                "ab.co", "a@bco", "abco", "@b.co", "a@", "a@.co", "a@b.", "a@b..co", "a@.b.co", "a@b.co.",
+                "a+@b.co", "a+b@b.co", "a.@b.co", "a-@b.co", ".a@b.co", "a b@b.co", "a@b-c.co", "a@@b.co", "\u00e9@b.co", "a@b.c_",
+                "a@b.co\n", "a@1.23");
+        add(inputs, Field.PINCODE, "", "56000", "560001", "5600011", "1234567", "12345678", "1234567890", "12345678901",
+                "56000a", " 56000", "560001 ", "56-001", "\u0665\u0666\u0660\u0660\u0660\u0661");
+        add(inputs, Field.CUSTOMER_RATING, "", "1.0", "4.5", "4.9", "5.0", "5.1", "0.9", "6.0", "1", "45", "4.55", "10.0",
+                "4.", ".5", "a.5", "4.a", "-1.0");
+        return inputs;
+    }
+
+    private static void add(final List<Object[]> inputs, final Field field, final String... values) {
+        for (String value : values) {
+            inputs.add(new Object[]{field, value});
+        }
+    }
+
+    //This test case passes when the scanner and the old regex check agree on the input.
+    @Test
+    public void shouldMatchLegacyRegex() {
+        assertEquals(field.legacy.test(input), field.scanner.apply(input).isValid());
+    }
+
+    enum Field {
+        PASSWORD(INPUT_VALIDATOR::validatePassword, LegacyValidation::isValidPassword),
+        CONTACT_NUMBER(INPUT_VALIDATOR::validateContactNumber, LegacyValidation::isContactValid),
+        EMAIL(INPUT_VALIDATOR::validateEmail, LegacyValidation::isEmailValid),
+        PINCODE(INPUT_VALIDATOR::validatePincode, LegacyValidation::isPincodeValid),
+        CUSTOMER_RATING(INPUT_VALIDATOR::validateCustomerRating, LegacyValidation::isValidCustomerRating);
+
+        private final Function<String, ValidationResult> scanner;
+
+        private final Predicate<String> legacy;
+
+        Field(final Function<String, ValidationResult> scanner, final Predicate<String> legacy) {
+            this.scanner = scanner;
+            this.legacy = legacy;
+        }
+    }
+
+    //The checks as UtilityProvider did them before InputValidator.
+    static class LegacyValidation {
+
+        static boolean isValidPassword(String password) {
+            if (password.length() < 8) {
+                return false;
+            }
+            return password.matches("(?=.*[0-9]).*") && password.matches("(?=.*[a-z]).*")
+                    && password.matches("(?=.*[A-Z]).*") && password.matches("(?=.*[#@$%&*!^]).*");
+        }
+
+        static boolean isContactValid(String contactNumber) {
+            Pattern p = Pattern.compile("(0/91)?[7-9][0-9]{9}");
+            Matcher m = p.matcher(contactNumber);
+            return (m.find() && m.group().equals(contactNumber));
+        }
+
+        static boolean isEmailValid(String email) {
+            return email.matches("^[\\w-_\\.+]*[\\w-_\\.]\\@([\\w]+\\.)+[\\w]+[\\w]$");
+        }
+
+        static boolean isPincodeValid(String pincode) {
+            Pattern p = Pattern.compile("\\d{6}\\b");
+            Matcher m = p.matcher(pincode);
+            return (m.find() && m.group().equals(pincode));
+        }
+
+        static boolean isValidCustomerRating(String customerRating) {
+            if (customerRating.equals("5.0")) {
+                return true;
+            }
+            Pattern p = Pattern.compile("[1-4].[0-9]");
+            Matcher m = p.matcher(customerRating);
+            return (m.find() && m.group().equals(customerRating));
+        }
+    }
+}